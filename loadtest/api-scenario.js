@@ -0,0 +1,148 @@
+// Powtarzalny scenariusz obciążeniowy (k6): logowanie, CRUD wydatków i wszystkie endpointy dashboardu.
+// Użytkownicy loadtest<n> pochodzą z generatora danych syntetycznych (POST /api/init/generate
+// lub --app.generator.users=...), każdy wirtualny użytkownik loguje się jako inny użytkownik.
+// Percentyle czasów odpowiedzi per endpoint trafiają na stdout i do pliku JSON (SUMMARY_FILE).
+//
+//   k6 run loadtest/api-scenario.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e USERS=1000 -e VUS=200 -e DURATION=5m loadtest/api-scenario.js
+import http from 'k6/http';
+import { check, group } from 'k6';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = Number(__ENV.USERS || 100);
+const PASSWORD = __ENV.PASSWORD || 'loadtest123';
+const VUS = Number(__ENV.VUS || 100);
+// Katalog wyników musi istnieć (mkdir -p loadtest/results)
+const SUMMARY_FILE = __ENV.SUMMARY_FILE || 'loadtest/results/api-scenario-summary.json';
+
+const ENDPOINTS = [
+    'login',
+    'expense-create', 'expense-get', 'expense-update', 'expense-delete', 'expense-page',
+    'dashboard-summary', 'dashboard-monthly', 'dashboard-overview', 'dashboard-recent-activity',
+    'dashboard-budget-status', 'dashboard-trends', 'dashboard-category-breakdown',
+];
+
+const thresholds = { http_req_failed: ['rate<0.01'] };
+// Progi per endpoint sprawiają, że k6 liczy osobne percentyle dla każdego tagu
+ENDPOINTS.forEach((endpoint) => {
+    thresholds[`http_req_duration{endpoint:${endpoint}}`] = ['p(99)<2000'];
+});
+
+export const options = {
+    scenarios: {
+        api: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: __ENV.DURATION || '3m', target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['count', 'avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    thresholds,
+};
+
+let token = null;
+let categoryIds = [];
+
+function params(endpoint) {
+    return {
+        headers: { Authorization: `Bearer ${token}`, 'Content-Type': 'application/json' },
+        tags: { endpoint },
+    };
+}
+
+function login() {
+    const username = `loadtest${(__VU - 1) % USERS + 1}`;
+    const response = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' }, tags: { endpoint: 'login' } });
+    check(response, { 'login 200': (r) => r.status === 200 });
+    token = response.json('token');
+
+    const categories = http.get(`${BASE_URL}/api/categories`, params('categories'));
+    categoryIds = categories.json().map((category) => category.id);
+}
+
+function randomDate() {
+    const date = new Date();
+    date.setDate(date.getDate() - Math.floor(Math.random() * 365));
+    return date.toISOString().slice(0, 10);
+}
+
+export default function () {
+    if (token === null) {
+        login();
+    }
+
+    group('expense CRUD', () => {
+        const body = {
+            amount: (Math.random() * 200 + 1).toFixed(2),
+            description: 'k6 expense',
+            date: randomDate(),
+            categoryId: categoryIds[Math.floor(Math.random() * categoryIds.length)],
+        };
+        const created = http.post(`${BASE_URL}/api/expenses`, JSON.stringify(body), params('expense-create'));
+        check(created, { 'create 201': (r) => r.status === 201 });
+        if (created.status !== 201) {
+            return;
+        }
+        const id = created.json('id');
+
+        check(http.get(`${BASE_URL}/api/expenses/${id}`, params('expense-get')),
+            { 'get 200': (r) => r.status === 200 });
+        body.amount = (Number(body.amount) + 1).toFixed(2);
+        check(http.put(`${BASE_URL}/api/expenses/${id}`, JSON.stringify(body), params('expense-update')),
+            { 'update 200': (r) => r.status === 200 });
+        check(http.get(`${BASE_URL}/api/expenses/page?size=20`, params('expense-page')),
+            { 'page 200': (r) => r.status === 200 });
+        check(http.del(`${BASE_URL}/api/expenses/${id}`, null, params('expense-delete')),
+            { 'delete 2xx': (r) => r.status >= 200 && r.status < 300 });
+    });
+
+    group('dashboard', () => {
+        const year = new Date().getFullYear();
+        const responses = http.batch([
+            ['GET', `${BASE_URL}/api/dashboard`, null, params('dashboard-summary')],
+            ['GET', `${BASE_URL}/api/dashboard/monthly/${year}`, null, params('dashboard-monthly')],
+            ['GET', `${BASE_URL}/api/dashboard/overview`, null, params('dashboard-overview')],
+            ['GET', `${BASE_URL}/api/dashboard/recent-activity`, null, params('dashboard-recent-activity')],
+            ['GET', `${BASE_URL}/api/dashboard/budget-status`, null, params('dashboard-budget-status')],
+            ['GET', `${BASE_URL}/api/dashboard/trends/6`, null, params('dashboard-trends')],
+            ['GET', `${BASE_URL}/api/dashboard/category-breakdown`, null, params('dashboard-category-breakdown')],
+        ]);
+        responses.forEach((response) => check(response, { 'dashboard 200': (r) => r.status === 200 }));
+    });
+}
+
+// Zwięzłe percentyle per endpoint (ms) do porównywania między wydaniami
+export function handleSummary(data) {
+    const percentiles = {};
+    ENDPOINTS.forEach((endpoint) => {
+        const metric = data.metrics[`http_req_duration{endpoint:${endpoint}}`];
+        if (metric) {
+            percentiles[endpoint] = {
+                count: metric.values.count,
+                p50: metric.values.med,
+                p90: metric.values['p(90)'],
+                p95: metric.values['p(95)'],
+                p99: metric.values['p(99)'],
+                max: metric.values.max,
+            };
+        }
+    });
+
+    return {
+        stdout: textSummary(data, { indent: ' ', enableColors: true }),
+        [SUMMARY_FILE]: JSON.stringify({
+            startedAt: new Date().toISOString(),
+            baseUrl: BASE_URL,
+            vus: VUS,
+            failedRate: data.metrics.http_req_failed.values.rate,
+            percentiles,
+        }, null, 2),
+    };
+}
@@ -0,0 +1,52 @@
+// Test obciążeniowy dashboardu (k6): 2000 równoczesnych użytkowników, porównanie p99
+// między domyślną pulą wątków Tomcata a profilem virtual-threads.
+//
+//   k6 run loadtest/dashboard.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=2000 -e DURATION=2m loadtest/dashboard.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'testuser';
+const PASSWORD = __ENV.PASSWORD || 'user123';
+
+export const options = {
+    scenarios: {
+        dashboard: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 2000) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 2000) },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{endpoint:summary}': ['p(99)<1000'],
+        'http_req_duration{endpoint:overview}': ['p(99)<1000'],
+    },
+};
+
+export function setup() {
+    const response = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username: USERNAME, password: PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(response, { 'login 200': (r) => r.status === 200 });
+    return { token: response.json('token') };
+}
+
+export default function (data) {
+    const params = (endpoint) => ({
+        headers: { Authorization: `Bearer ${data.token}` },
+        tags: { endpoint },
+    });
+
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/api/dashboard`, null, params('summary')],
+        ['GET', `${BASE_URL}/api/dashboard/overview`, null, params('overview')],
+    ]);
+    responses.forEach((response) => check(response, { 'status 200': (r) => r.status === 200 }));
+}
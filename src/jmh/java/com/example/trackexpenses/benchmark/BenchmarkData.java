@@ -0,0 +1,236 @@
+package com.example.trackexpenses.benchmark;
+
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.Budget;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.Role;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.BudgetRepository;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.BudgetService;
+import com.example.trackexpenses.service.CategoryCache;
+import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.DashboardService;
+import com.example.trackexpenses.service.ExpenseArchiveService;
+import com.example.trackexpenses.service.ExpenseRollupService;
+import com.example.trackexpenses.service.ExpenseService;
+import com.example.trackexpenses.service.QueryFanOut;
+import com.example.trackexpenses.service.SpendingTrendService;
+import com.example.trackexpenses.service.StatsService;
+import com.example.trackexpenses.service.UserService;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Generator danych w pamięci dla benchmarków warstwy serwisów.
+ * Repozytoria są zaślepkami Mockito (stubOnly – bez zapisywania wywołań), więc mierzony jest
+ * wyłącznie kod Javy: mapowanie encji na DTO, sortowanie i agregacja wyników zapytań.
+ */
+final class BenchmarkData {
+
+    static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+    static final int MONTHS = 24;
+
+    private static final String[] CATEGORY_NAMES = {"Food & Dining", "Transportation", "Shopping",
+            "Entertainment", "Bills & Utilities", "Healthcare", "Education", "Travel", "Personal Care", "Other"};
+
+    final User user;
+    final List<Category> categories;
+    final List<Expense> expenses;
+    final List<Budget> budgets;
+
+    final ExpenseRepository expenseRepository;
+    final BudgetRepository budgetRepository;
+
+    final ExpenseService expenseService;
+    final BudgetService budgetService;
+    final SpendingTrendService spendingTrendService;
+    final DashboardService dashboardService;
+    final StatsService statsService;
+
+    private BenchmarkData(int expenseCount) {
+        Random random = new Random(42);
+
+        user = new User();
+        user.setId(1);
+        user.setUsername("benchmark");
+        user.setRole(Role.USER);
+        user.setIsActive(true);
+
+        categories = new ArrayList<>(CATEGORY_NAMES.length);
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            Category category = new Category();
+            category.setId(i + 1);
+            category.setName(CATEGORY_NAMES[i]);
+            category.setDescription("Kategoria " + CATEGORY_NAMES[i]);
+            category.setIsDefault(true);
+            categories.add(category);
+        }
+
+        // Wydatki rozłożone losowo na ostatnie MONTHS miesięcy
+        LocalDate firstDay = YearMonth.from(TODAY).minusMonths(MONTHS - 1).atDay(1);
+        int days = (int) (TODAY.toEpochDay() - firstDay.toEpochDay()) + 1;
+        expenses = new ArrayList<>(expenseCount);
+        for (int i = 0; i < expenseCount; i++) {
+            Expense expense = new Expense();
+            expense.setId(i + 1);
+            expense.setAmount(BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            expense.setDescription("Wydatek " + i);
+            expense.setDate(firstDay.plusDays(random.nextInt(days)));
+            expense.setCategory(categories.get(random.nextInt(categories.size())));
+            expense.setUser(user);
+            expense.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+            expenses.add(expense);
+        }
+
+        // Budżety: jeden na kategorię i miesiąc z horyzontu danych
+        budgets = new ArrayList<>(MONTHS * categories.size());
+        for (int m = 0; m < MONTHS; m++) {
+            YearMonth month = YearMonth.from(firstDay).plusMonths(m);
+            for (Category category : categories) {
+                Budget budget = new Budget();
+                budget.setId(budgets.size() + 1);
+                budget.setAmount(BigDecimal.valueOf(50_000 + random.nextInt(200_000), 2));
+                budget.setCategory(category);
+                budget.setUser(user);
+                budget.setYear(month.getYear());
+                budget.setMonth(month.getMonthValue());
+                budget.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+                budgets.add(budget);
+            }
+        }
+
+        expenseRepository = Mockito.mock(ExpenseRepository.class, Mockito.withSettings().stubOnly());
+        budgetRepository = Mockito.mock(BudgetRepository.class, Mockito.withSettings().stubOnly());
+        UserService userService = Mockito.mock(UserService.class, Mockito.withSettings().stubOnly());
+        CategoryService categoryService = Mockito.mock(CategoryService.class, Mockito.withSettings().stubOnly());
+        stubRepositories(userService, categoryService);
+
+        ExpenseDailyRollupRepository rollupRepository =
+                Mockito.mock(ExpenseDailyRollupRepository.class, Mockito.withSettings().stubOnly());
+        // Archiwum jest puste (getArchivedBefore zwraca null), więc odczyty nie sięgają do niego
+        ExpenseArchiveService expenseArchiveService =
+                Mockito.mock(ExpenseArchiveService.class, Mockito.withSettings().stubOnly());
+        expenseService = new ExpenseService(expenseRepository, userService, categoryService,
+                new ExpenseRollupService(rollupRepository), rollupRepository, expenseArchiveService,
+                Mockito.mock(ArchivedExpenseRepository.class, Mockito.withSettings().stubOnly()));
+        budgetService = new BudgetService(budgetRepository, expenseRepository, userService, categoryService);
+        spendingTrendService = new SpendingTrendService(expenseRepository, userService, rollupRepository,
+                expenseArchiveService);
+        ReflectionTestUtils.setField(spendingTrendService, "maxMonths", 60);
+        ReflectionTestUtils.setField(spendingTrendService, "rollingWindow", 3);
+        CategoryCache categoryCache = Mockito.mock(CategoryCache.class, Mockito.withSettings().stubOnly());
+        when(categoryCache.findAll()).thenReturn(categories);
+        // Zapytania dashboardu rozchodzą się równolegle na wątki wirtualne, jak w aplikacji
+        QueryFanOut queryFanOut = new QueryFanOut(Mockito.mock(PlatformTransactionManager.class, Mockito.withSettings().stubOnly()), true);
+        dashboardService = new DashboardService(expenseRepository, budgetRepository, rollupRepository,
+                categoryCache, userService, queryFanOut, expenseArchiveService);
+        ReflectionTestUtils.setField(dashboardService, "recentExpenses", 10);
+        CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class, Mockito.withSettings().stubOnly());
+        when(categoryRepository.count()).thenReturn((long) categories.size());
+        statsService = new StatsService(expenseRepository, budgetRepository,
+                Mockito.mock(UserRepository.class, Mockito.withSettings().stubOnly()), categoryRepository, userService, queryFanOut,
+                expenseArchiveService);
+    }
+
+    static BenchmarkData generate(int expenseCount) {
+        return new BenchmarkData(expenseCount);
+    }
+
+    /**
+     * Zaślepki zapytań agregujących zwracają wyniki policzone z wygenerowanych danych,
+     * tak jak zwróciłaby je baza.
+     */
+    private void stubRepositories(UserService userService, CategoryService categoryService) {
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(categoryService.findAllCategories()).thenReturn(List.of());
+
+        // Listy wydatków przychodzą z bazy jako gotowe projekcje ExpenseDto, posortowane malejąco po dacie
+        List<ExpenseDto> projections = toProjections(expenses);
+        when(expenseRepository.findDtosByUserId(any())).thenReturn(projections);
+        when(expenseRepository.findDtoPageByUserId(any(), any()))
+                .thenAnswer(invocation -> projections.subList(0, Math.min(projections.size(),
+                        invocation.<Pageable>getArgument(1).getPageSize())));
+        when(budgetRepository.findByUser(any())).thenReturn(budgets);
+
+        YearMonth currentMonth = YearMonth.from(TODAY);
+        List<Expense> currentMonthExpenses = expenses.stream()
+                .filter(e -> YearMonth.from(e.getDate()).equals(currentMonth))
+                .toList();
+        when(expenseRepository.findDtosByUserIdAndDateBetween(any(), any(), any()))
+                .thenReturn(toProjections(currentMonthExpenses));
+        List<Budget> currentMonthBudgets = budgets.stream()
+                .filter(b -> b.getYear() == currentMonth.getYear() && b.getMonth() == currentMonth.getMonthValue())
+                .toList();
+        when(budgetRepository.findByUserAndYearAndMonth(any(), any(), any())).thenReturn(currentMonthBudgets);
+        when(budgetRepository.sumAmountByUserIdAndYearAndMonth(any(), any(), any()))
+                .thenReturn(currentMonthBudgets.stream().map(Budget::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        when(expenseRepository.sumAmountByUser(any())).thenReturn(sum(expenses));
+        ExpenseRepository.ExpenseTotals totals = Mockito.mock(ExpenseRepository.ExpenseTotals.class,
+                Mockito.withSettings().stubOnly());
+        when(totals.getExpenseCount()).thenReturn((long) expenses.size());
+        when(totals.getTotalAmount()).thenReturn(sum(expenses));
+        when(totals.getPeriodAmount()).thenReturn(sum(currentMonthExpenses));
+        when(expenseRepository.sumTotalsByUserId(any(), any(), any())).thenReturn(totals);
+        when(budgetRepository.countByUser(any())).thenReturn((long) budgets.size());
+        when(expenseRepository.sumAmountByUserAndDateBetween(any(), any(), any())).thenReturn(sum(currentMonthExpenses));
+
+        Map<Category, BigDecimal> byCategory = new LinkedHashMap<>();
+        Map<YearMonth, BigDecimal> byMonth = new TreeMap<>();
+        for (Expense expense : expenses) {
+            byMonth.merge(YearMonth.from(expense.getDate()), expense.getAmount(), BigDecimal::add);
+        }
+        for (Expense expense : currentMonthExpenses) {
+            byCategory.merge(expense.getCategory(), expense.getAmount(), BigDecimal::add);
+        }
+
+        List<Object[]> categoryRows = new ArrayList<>();
+        byCategory.forEach((category, amount) -> categoryRows.add(new Object[]{category, amount}));
+        when(expenseRepository.findExpensesSumByCategory(any(), any(), any())).thenReturn(categoryRows);
+
+        List<Object[]> monthRows = new ArrayList<>();
+        byMonth.forEach((month, amount) -> monthRows.add(new Object[]{month.getYear(), month.getMonthValue(), amount}));
+        when(expenseRepository.sumAmountByUserGroupedByMonth(any(), any(), any())).thenReturn(monthRows);
+
+        List<Object[]> statusRows = new ArrayList<>();
+        for (Budget budget : budgets) {
+            if (budget.getYear() == currentMonth.getYear() && budget.getMonth() == currentMonth.getMonthValue()) {
+                statusRows.add(new Object[]{budget.getId(), budget.getCategory().getId(), budget.getCategory().getName(),
+                        budget.getAmount(), byCategory.get(budget.getCategory())});
+            }
+        }
+        when(budgetRepository.findBudgetStatusByUserAndYearAndMonth(any(), any(), any(), any(), any()))
+                .thenReturn(statusRows);
+    }
+
+    private static List<ExpenseDto> toProjections(List<Expense> expenses) {
+        return expenses.stream()
+                .sorted(Comparator.comparing(Expense::getDate).thenComparing(Expense::getId).reversed())
+                .map(e -> new ExpenseDto(e.getId(), e.getAmount(), e.getDescription(), e.getDate(),
+                        e.getCategory().getId(), e.getCategory().getName(), e.getCategory().getDescription(),
+                        e.getCategory().getColorCode(), e.getCategory().getIsDefault(),
+                        e.getCreatedAt(), e.getUpdatedAt()))
+                .toList();
+    }
+
+    private static BigDecimal sum(List<Expense> expenses) {
+        return expenses.stream().map(Expense::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
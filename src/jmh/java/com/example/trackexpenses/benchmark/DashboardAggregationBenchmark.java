@@ -0,0 +1,54 @@
+package com.example.trackexpenses.benchmark;
+
+import com.example.trackexpenses.controller.DashboardController;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregacja danych dashboardu: kontroler na prawdziwych serwisach i zaślepionych repozytoriach,
+ * dla 1k, 100k i 1M wydatków użytkownika.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DashboardAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int expenses;
+
+    private DashboardController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = BenchmarkData.generate(expenses);
+        controller = new DashboardController(data.expenseService, data.budgetService,
+                data.spendingTrendService, data.dashboardService, data.statsService);
+    }
+
+    @Benchmark
+    public Object dashboardSummary() {
+        return controller.getDashboardSummary().getBody();
+    }
+
+    @Benchmark
+    public Object overview() {
+        return controller.getOverview().getBody();
+    }
+
+    @Benchmark
+    public Object recentActivity() {
+        return controller.getRecentActivity().getBody();
+    }
+
+    @Benchmark
+    public Object budgetStatus() {
+        return controller.getBudgetStatus().getBody();
+    }
+
+    @Benchmark
+    public Object spendingTrends() {
+        return controller.getSpendingTrends(BenchmarkData.MONTHS).getBody();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.trackexpenses.benchmark;
+
+import com.example.trackexpenses.TrackExpensesApplication;
+import com.example.trackexpenses.dto.CategoryDto;
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.example.trackexpenses.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Odczyt listy wydatków użytkownika przez JPA na bazie H2 w pamięci: dotychczasowa ścieżka
+ * (encje z dociągniętą kategorią + kopiowanie do DTO) kontra projekcja JPQL prosto do ExpenseDto.
+ * Różnicę w alokacjach pokazuje profiler gc (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExpenseReadPathBenchmark {
+
+    private static final String ENTITY_QUERY = "SELECT e FROM Expense e JOIN FETCH e.category " +
+            "WHERE e.user.id = :userId ORDER BY e.date DESC, e.id DESC";
+
+    @Param({"1000", "10000", "100000"})
+    private int expenses;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private ExpenseRepository expenseRepository;
+    private Integer userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TrackExpensesApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        expenseRepository = context.getBean(ExpenseRepository.class);
+
+        User user = new User();
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("benchmark");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        List<Integer> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            category.setDescription("Kategoria " + i);
+            categoryIds.add(context.getBean(CategoryRepository.class).save(category).getId());
+        }
+
+        Random random = new Random(42);
+        LocalDate firstDay = BenchmarkData.TODAY.minusMonths(BenchmarkData.MONTHS);
+        List<Object[]> rows = new ArrayList<>(expenses);
+        for (int i = 0; i < expenses; i++) {
+            rows.add(new Object[]{i + 1, BigDecimal.valueOf(100 + random.nextInt(50_000), 2), "Wydatek " + i,
+                    Date.valueOf(firstDay.plusDays(random.nextInt(730))),
+                    categoryIds.get(random.nextInt(categoryIds.size())), userId,
+                    Timestamp.valueOf(LocalDateTime.of(2025, 1, 1, 12, 0))});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO expenses " +
+                "(id, amount, description, date, category_id, user_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ExpenseDto> entitiesMappedToDto() {
+        return readOnlyTransaction.execute(status -> entityManager.createQuery(ENTITY_QUERY, Expense.class)
+                .setParameter("userId", userId)
+                .getResultStream()
+                .map(ExpenseReadPathBenchmark::convertToDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ExpenseDto> projection() {
+        return readOnlyTransaction.execute(status -> expenseRepository.findDtosByUserId(userId));
+    }
+
+    /**
+     * Kopia mapowania, którego ExpenseService używał dla list przed przejściem na projekcje.
+     */
+    private static ExpenseDto convertToDto(Expense expense) {
+        ExpenseDto dto = new ExpenseDto();
+        dto.setId(expense.getId());
+        dto.setAmount(expense.getAmount());
+        dto.setDescription(expense.getDescription());
+        dto.setDate(expense.getDate());
+        dto.setCreatedAt(expense.getCreatedAt());
+        dto.setUpdatedAt(expense.getUpdatedAt());
+
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(expense.getCategory().getId());
+        categoryDto.setName(expense.getCategory().getName());
+        categoryDto.setDescription(expense.getCategory().getDescription());
+        categoryDto.setColorCode(expense.getCategory().getColorCode());
+        categoryDto.setIsDefault(expense.getCategory().getIsDefault());
+        dto.setCategory(categoryDto);
+        return dto;
+    }
+}
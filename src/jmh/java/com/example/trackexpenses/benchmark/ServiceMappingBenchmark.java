@@ -0,0 +1,48 @@
+package com.example.trackexpenses.benchmark;
+
+import com.example.trackexpenses.dto.BudgetDto;
+import com.example.trackexpenses.dto.CategoryDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapowanie encji na DTO w BudgetService (convertToDto wywoływane przez publiczne metody odczytu)
+ * oraz mapowanie wyniku getExpensesByCategory, dla 1k, 100k i 1M wydatków użytkownika.
+ * Listy wydatków są czytane projekcjami prosto do ExpenseDto – porównuje je ExpenseReadPathBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ServiceMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int expenses;
+
+    private BenchmarkData data;
+    private LocalDate startOfMonth;
+    private LocalDate endOfMonth;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = BenchmarkData.generate(expenses);
+        startOfMonth = YearMonth.from(BenchmarkData.TODAY).atDay(1);
+        endOfMonth = YearMonth.from(BenchmarkData.TODAY).atEndOfMonth();
+    }
+
+    @Benchmark
+    public List<BudgetDto> budgetConvertToDto() {
+        return data.budgetService.findBudgetsByCurrentUser();
+    }
+
+    @Benchmark
+    public Map<CategoryDto, BigDecimal> expensesByCategory() {
+        return data.expenseService.getExpensesByCategory(startOfMonth, endOfMonth);
+    }
+}
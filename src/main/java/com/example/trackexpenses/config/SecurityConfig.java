@@ -60,11 +60,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/init/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
 
                         // Endpointy tylko dla adminów
                         .requestMatchers("/api/*/all").hasRole("ADMIN")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        // Metryki ujawniają czasy metod, stan puli połączeń i adresy żądań
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
 
                         // Wszystkie inne endpointy wymagają autoryzacji
                         .anyRequest().authenticated()
@@ -0,0 +1,48 @@
+package com.example.trackexpenses.config;
+
+import com.example.trackexpenses.service.SyntheticDataGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generowanie danych syntetycznych z linii poleceń, np.
+ * {@code java -jar app.jar --app.generator.users=1000 --app.generator.expenses-per-user=500 --app.generator.exit=true}.
+ * Bez {@code app.generator.exit=true} aplikacja po wygenerowaniu danych działa dalej (np. pod test obciążeniowy).
+ */
+@Component
+@ConditionalOnProperty(name = "app.generator.users")
+@RequiredArgsConstructor
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator syntheticDataGenerator;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${app.generator.users}")
+    private int users;
+
+    @Value("${app.generator.expenses-per-user:200}")
+    private int expensesPerUser;
+
+    @Value("${app.generator.years:3}")
+    private int years;
+
+    @Value("${app.generator.seed:42}")
+    private long seed;
+
+    @Value("${app.generator.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        syntheticDataGenerator.generate(users, expensesPerUser, years, seed);
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
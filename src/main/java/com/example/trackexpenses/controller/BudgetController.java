@@ -3,6 +3,7 @@ package com.example.trackexpenses.controller;
 import com.example.trackexpenses.dto.BudgetCreateDto;
 import com.example.trackexpenses.dto.BudgetDto;
 import com.example.trackexpenses.service.BudgetService;
+import com.example.trackexpenses.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +28,7 @@ import java.util.Map;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final StatsService statsService;
 
     @Operation(summary = "Get all budgets for current user")
     @GetMapping
@@ -144,12 +145,6 @@ public class BudgetController {
     @Operation(summary = "Get budget statistics")
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getBudgetStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalBudgets", budgetService.findBudgetsByCurrentUser().size());
-
-        LocalDate now = LocalDate.now();
-        stats.put("currentMonthBudget", budgetService.getTotalBudgetForMonth(now.getYear(), now.getMonthValue()));
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(statsService.getBudgetStats(LocalDate.now()));
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.trackexpenses.controller;
 
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -9,9 +10,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final StatsService statsService;
 
     @Operation(summary = "Get all categories")
     @GetMapping
@@ -101,14 +103,14 @@ public class CategoryController {
     @Operation(summary = "Get category statistics")
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getCategoryStats() {
-        Map<String, Object> stats = new HashMap<>();
-        List<CategoryDto> allCategories = categoryService.findAllCategories();
-
-        stats.put("totalCategories", allCategories.size());
-        stats.put("defaultCategories", allCategories.stream().filter(CategoryDto::getIsDefault).count());
-        stats.put("customCategories", allCategories.stream().filter(cat -> !cat.getIsDefault()).count());
+        return ResponseEntity.ok(statsService.getCategoryStats());
+    }
 
-        return ResponseEntity.ok(stats);
+    @Operation(summary = "Get category cache statistics (admin only)")
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCategoryCacheStats() {
+        return ResponseEntity.ok(categoryService.getCacheStats());
     }
 
     @Operation(summary = "Initialize default categories")
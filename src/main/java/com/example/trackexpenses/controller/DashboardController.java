@@ -1,16 +1,19 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.BudgetStatusDto;
 import com.example.trackexpenses.dto.CategoryDto;
+import com.example.trackexpenses.dto.DashboardSummaryDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.SpendingTrendsDto;
 import com.example.trackexpenses.service.BudgetService;
-import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.DashboardService;
 import com.example.trackexpenses.service.ExpenseService;
-import com.example.trackexpenses.service.UserService;
+import com.example.trackexpenses.service.SpendingTrendService;
+import com.example.trackexpenses.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -28,35 +30,18 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "Bearer Authentication")
 public class DashboardController {
 
+    private static final int RECENT_EXPENSES = 5;
+
     private final ExpenseService expenseService;
     private final BudgetService budgetService;
-    private final CategoryService categoryService;
-    private final UserService userService;
+    private final SpendingTrendService spendingTrendService;
+    private final DashboardService dashboardService;
+    private final StatsService statsService;
 
     @Operation(summary = "Get dashboard summary")
     @GetMapping
-    public ResponseEntity<DashboardSummary> getDashboardSummary() {
-        LocalDate now = LocalDate.now();
-        int currentYear = now.getYear();
-        int currentMonth = now.getMonthValue();
-
-        DashboardSummary summary = new DashboardSummary();
-
-        LocalDate startOfMonth = LocalDate.of(currentYear, currentMonth, 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-
-        summary.setCurrentMonthExpenses(expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth));
-        summary.setTotalExpenses(expenseService.getTotalExpensesForCurrentUser());
-        summary.setCurrentMonthBudget(budgetService.getTotalBudgetForMonth(currentYear, currentMonth));
-
-        summary.setRecentExpenses(expenseService.findExpensesByCurrentUser().stream()
-                .limit(10)
-                .toList());
-
-        summary.setTotalCategories(categoryService.findAllCategories().size());
-        summary.setExpensesByCategory(expenseService.getExpensesByCategory(startOfMonth, endOfMonth));
-
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<DashboardSummaryDto> getDashboardSummary() {
+        return ResponseEntity.ok(dashboardService.getSummary(LocalDate.now()));
     }
 
     @Operation(summary = "Get monthly expenses")
@@ -70,32 +55,7 @@ public class DashboardController {
     @Operation(summary = "Get overview statistics")
     @GetMapping("/overview")
     public ResponseEntity<Map<String, Object>> getOverview() {
-        Map<String, Object> overview = new HashMap<>();
-        LocalDate now = LocalDate.now();
-
-        overview.put("totalExpenses", expenseService.findExpensesByCurrentUser().size());
-        overview.put("totalBudgets", budgetService.findBudgetsByCurrentUser().size());
-        overview.put("totalCategories", categoryService.findAllCategories().size());
-
-        overview.put("totalSpent", expenseService.getTotalExpensesForCurrentUser());
-        overview.put("currentMonthBudget", budgetService.getTotalBudgetForMonth(now.getYear(), now.getMonthValue()));
-
-        LocalDate startOfMonth = LocalDate.of(now.getYear(), now.getMonthValue(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        overview.put("currentMonthSpent", expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth));
-
-        BigDecimal monthlyBudget = budgetService.getTotalBudgetForMonth(now.getYear(), now.getMonthValue());
-        BigDecimal monthlySpent = expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth);
-
-        if (monthlyBudget.compareTo(BigDecimal.ZERO) > 0) {
-            double budgetUsagePercent = monthlySpent.divide(monthlyBudget, 4, BigDecimal.ROUND_HALF_UP)
-                    .multiply(new BigDecimal("100")).doubleValue();
-            overview.put("budgetUsagePercent", budgetUsagePercent);
-        } else {
-            overview.put("budgetUsagePercent", 0);
-        }
-
-        return ResponseEntity.ok(overview);
+        return ResponseEntity.ok(statsService.getOverview(LocalDate.now()));
     }
 
     @Operation(summary = "Get recent activity")
@@ -103,9 +63,8 @@ public class DashboardController {
     public ResponseEntity<Map<String, Object>> getRecentActivity() {
         Map<String, Object> activity = new HashMap<>();
 
-        List<ExpenseDto> recentExpenses = expenseService.findExpensesByCurrentUser().stream()
-                .limit(5)
-                .collect(Collectors.toList());
+        // Pierwsza strona stronicowania kursorem – baza zwraca tylko 5 najnowszych wierszy
+        List<ExpenseDto> recentExpenses = expenseService.findExpensePageByCurrentUser(null, RECENT_EXPENSES).getItems();
         activity.put("recentExpenses", recentExpenses);
 
         LocalDate weekAgo = LocalDate.now().minusDays(7);
@@ -123,62 +82,22 @@ public class DashboardController {
 
     @Operation(summary = "Get budget status")
     @GetMapping("/budget-status")
-    public ResponseEntity<List<Map<String, Object>>> getBudgetStatus() {
+    public ResponseEntity<List<BudgetStatusDto>> getBudgetStatus() {
         LocalDate now = LocalDate.now();
-        int currentYear = now.getYear();
-        int currentMonth = now.getMonthValue();
-
-        List<com.example.trackexpenses.dto.BudgetDto> currentBudgets = budgetService.findBudgetsByYearAndMonth(currentYear, currentMonth);
-        List<Map<String, Object>> budgetStatus = new ArrayList<>();
-
-        for (com.example.trackexpenses.dto.BudgetDto budget : currentBudgets) {
-            Map<String, Object> status = new HashMap<>();
-            status.put("category", budget.getCategory().getName());
-            status.put("budgetAmount", budget.getAmount());
-
-            BigDecimal spent = budgetService.getSpentAmountForBudget(budget.getId());
-            status.put("spentAmount", spent);
-            status.put("remainingAmount", budget.getAmount().subtract(spent));
-
-            double percentage = budget.getAmount().compareTo(BigDecimal.ZERO) > 0
-                    ? spent.divide(budget.getAmount(), 4, BigDecimal.ROUND_HALF_UP).multiply(new BigDecimal("100")).doubleValue()
-                    : 0;
-            status.put("usagePercentage", percentage);
-            status.put("isOverBudget", spent.compareTo(budget.getAmount()) > 0);
-
-            budgetStatus.add(status);
-        }
-
+        List<BudgetStatusDto> budgetStatus = budgetService.getBudgetStatusForMonth(now.getYear(), now.getMonthValue());
         return ResponseEntity.ok(budgetStatus);
     }
 
     @Operation(summary = "Get spending trends")
     @GetMapping("/trends/{months}")
-    public ResponseEntity<Map<String, Object>> getSpendingTrends(
+    public ResponseEntity<SpendingTrendsDto> getSpendingTrends(
             @Parameter(description = "Number of months") @PathVariable Integer months) {
-        Map<String, Object> trends = new HashMap<>();
-        LocalDate now = LocalDate.now();
-
-        Map<String, BigDecimal> monthlyTrends = new LinkedHashMap<>();
-
-        for (int i = months - 1; i >= 0; i--) {
-            LocalDate targetDate = now.minusMonths(i);
-            LocalDate startOfMonth = LocalDate.of(targetDate.getYear(), targetDate.getMonthValue(), 1);
-            LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-
-            BigDecimal monthTotal = expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth);
-            String monthKey = targetDate.getYear() + "-" + String.format("%02d", targetDate.getMonthValue());
-            monthlyTrends.put(monthKey, monthTotal);
+        try {
+            SpendingTrendsDto trends = spendingTrendService.getSpendingTrends(months, LocalDate.now());
+            return ResponseEntity.ok(trends);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-
-        trends.put("monthlySpending", monthlyTrends);
-
-        BigDecimal average = monthlyTrends.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .divide(new BigDecimal(monthlyTrends.size()), 2, BigDecimal.ROUND_HALF_UP);
-        trends.put("averageMonthlySpending", average);
-
-        return ResponseEntity.ok(trends);
     }
 
     @Operation(summary = "Get category breakdown")
@@ -214,14 +133,4 @@ public class DashboardController {
 
         return ResponseEntity.ok(breakdown);
     }
-
-    @Data
-    public static class DashboardSummary {
-        private BigDecimal currentMonthExpenses;
-        private BigDecimal totalExpenses;
-        private BigDecimal currentMonthBudget;
-        private List<?> recentExpenses;
-        private Integer totalCategories;
-        private Map<CategoryDto, BigDecimal> expensesByCategory;
-    }
-}
\ No newline at end of file
+}
@@ -1,21 +1,37 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.BulkImportResultDto;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.dto.ExpenseCreateDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.ExpensePageDto;
+import com.example.trackexpenses.service.ExpenseExportService;
+import com.example.trackexpenses.service.ExpenseImportService;
+import com.example.trackexpenses.service.ExpenseRollupService;
 import com.example.trackexpenses.service.ExpenseService;
+import com.example.trackexpenses.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -30,6 +46,13 @@ import java.util.Map;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseRollupService expenseRollupService;
+    private final StatsService statsService;
+
+    @Value("${app.expenses.export.timeout:30m}")
+    private Duration exportTimeout;
 
     @Operation(summary = "Get all expenses for current user")
     @GetMapping
@@ -38,6 +61,20 @@ public class ExpenseController {
         return ResponseEntity.ok(expenses);
     }
 
+    @Operation(summary = "Get a page of expenses for current user",
+            description = "Keyset pagination, newest first. Pass nextCursor from the previous page as 'after'.")
+    @GetMapping("/page")
+    public ResponseEntity<ExpensePageDto> getExpensePage(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(required = false) Integer size) {
+        try {
+            ExpensePageDto page = expenseService.findExpensePageByCurrentUser(after, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Get all expenses (admin only)")
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,6 +83,17 @@ public class ExpenseController {
         return ResponseEntity.ok(expenses);
     }
 
+    @Operation(summary = "Rebuild daily spending rollup (admin only)",
+            description = "Recomputes expense_daily_rollup from all expenses, e.g. after loading data outside the API.")
+    @PostMapping("/rollup/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildRollup() {
+        int rows = expenseRollupService.rebuild();
+        Map<String, Integer> result = new HashMap<>();
+        result.put("rollupRows", rows);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(summary = "Get expense by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ExpenseDto> getExpenseById(
@@ -66,6 +114,45 @@ public class ExpenseController {
         }
     }
 
+    @Operation(summary = "Import many expenses",
+            description = "Accepts a JSON array or NDJSON (one expense per line). Invalid rows are reported and skipped.")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importExpenses(HttpServletRequest request) {
+        try {
+            BulkImportResultDto result = expenseImportService.importExpenses(request.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Export expenses of current user",
+            description = "Streams expenses as CSV or NDJSON, newest first. Both dates are optional and inclusive.")
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportExpenses(
+            @Parameter(description = "csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Start date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) {
+        ExpenseExportService.Format exportFormat;
+        StreamingResponseBody body;
+        try {
+            exportFormat = ExpenseExportService.Format.from(format);
+            body = expenseExportService.exportCurrentUserExpenses(exportFormat, from, to);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses." + exportFormat.getExtension() + "\"");
+        // Limit czasu tylko dla eksportu – pozostałe żądania asynchroniczne zostają przy domyślnym
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @Operation(summary = "Update expense")
     @PutMapping("/{id}")
     public ResponseEntity<ExpenseDto> updateExpense(
@@ -175,15 +262,6 @@ public class ExpenseController {
     @Operation(summary = "Get expense statistics")
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getExpenseStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalExpenses", expenseService.findExpensesByCurrentUser().size());
-        stats.put("totalAmount", expenseService.getTotalExpensesForCurrentUser());
-
-        LocalDate now = LocalDate.now();
-        LocalDate startOfMonth = LocalDate.of(now.getYear(), now.getMonthValue(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        stats.put("currentMonthAmount", expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth));
-
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(statsService.getExpenseStats(LocalDate.now()));
     }
 }
\ No newline at end of file
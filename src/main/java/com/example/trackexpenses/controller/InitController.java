@@ -1,25 +1,24 @@
 package com.example.trackexpenses.controller;
 
-import com.example.trackexpenses.entity.Budget;
-import com.example.trackexpenses.entity.Category;
-import com.example.trackexpenses.entity.Expense;
-import com.example.trackexpenses.entity.Role;
+import com.example.trackexpenses.dto.PurgeJobDto;
+import com.example.trackexpenses.dto.SyntheticDataResultDto;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.BudgetRepository;
 import com.example.trackexpenses.repository.CategoryRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
 import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.DataPurgeService;
+import com.example.trackexpenses.service.DataSeedService;
+import com.example.trackexpenses.service.SyntheticDataGenerator;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,12 +34,20 @@ public class InitController {
     private final CategoryRepository categoryRepository;
     private final ExpenseRepository expenseRepository;
     private final BudgetRepository budgetRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final DataSeedService dataSeedService;
+    private final DataPurgeService dataPurgeService;
+    private final SyntheticDataGenerator syntheticDataGenerator;
 
     @Operation(summary = "Initialize all mock data")
     @PostMapping("/all")
-    public ResponseEntity<Map<String, Object>> initializeAllData() {
+    public ResponseEntity<Map<String, Object>> initializeAllData(
+            @Parameter(description = "Number of copies of sample expenses and budgets") @RequestParam(defaultValue = "1") int scale) {
         Map<String, Object> result = new HashMap<>();
+        if (scale < 1) {
+            result.put("status", "ERROR");
+            result.put("message", "Scale must be positive");
+            return ResponseEntity.badRequest().body(result);
+        }
 
         try {
             initializeCategories();
@@ -49,10 +56,10 @@ public class InitController {
             initializeUsers();
             result.put("users", "✅ Users initialized");
 
-            initializeExpenses();
+            initializeExpenses(scale);
             result.put("expenses", "✅ Sample expenses created");
 
-            initializeBudgets();
+            initializeBudgets(scale);
             result.put("budgets", "✅ Sample budgets created");
 
             result.put("status", "SUCCESS");
@@ -72,195 +79,90 @@ public class InitController {
     @Operation(summary = "Initialize default categories")
     @PostMapping("/categories")
     public ResponseEntity<String> initializeCategories() {
-        String[][] defaultCategories = {
-                {"Food", "Meals, groceries, dining out", "#28a745"},
-                {"Transportation", "Gas, public transport, car maintenance", "#007bff"},
-                {"Entertainment", "Movies, games, hobbies", "#ffc107"},
-                {"Healthcare", "Medical expenses, pharmacy", "#dc3545"},
-                {"Shopping", "Clothes, electronics, misc items", "#6f42c1"},
-                {"Bills", "Utilities, rent, subscriptions", "#fd7e14"},
-                {"Education", "Books, courses, training", "#17a2b8"},
-                {"Travel", "Vacation, trips, accommodation", "#6610f2"}
-        };
-
-        int created = 0;
-        for (String[] categoryData : defaultCategories) {
-            String name = categoryData[0];
-            if (categoryRepository.findByName(name).isEmpty()) {
-                Category category = new Category();
-                category.setName(name);
-                category.setDescription(categoryData[1]);
-                category.setColorCode(categoryData[2]);
-                category.setIsDefault(true);
-                categoryRepository.save(category);
-                created++;
-            }
-        }
-
+        int created = dataSeedService.seedCategories();
         return ResponseEntity.ok("Categories initialized: " + created + " new categories created");
     }
 
     @Operation(summary = "Initialize test users")
     @PostMapping("/users")
     public ResponseEntity<String> initializeUsers() {
-        int created = 0;
-
-        if (userRepository.findByUsername("admin").isEmpty()) {
-            User admin = new User();
-            admin.setUsername("admin");
-            admin.setEmail("admin@trackexpenses.com");
-            admin.setPassword(passwordEncoder.encode("admin123"));
-            admin.setRole(Role.ADMIN);
-            admin.setIsActive(true);
-            admin.setCreatedAt(LocalDateTime.now());
-            userRepository.save(admin);
-            created++;
-        }
-
-        if (userRepository.findByUsername("testuser").isEmpty()) {
-            User user = new User();
-            user.setUsername("testuser");
-            user.setEmail("user@trackexpenses.com");
-            user.setPassword(passwordEncoder.encode("user123"));
-            user.setRole(Role.USER);
-            user.setIsActive(true);
-            user.setCreatedAt(LocalDateTime.now());
-            userRepository.save(user);
-            created++;
-        }
-
-        if (userRepository.findByUsername("demo").isEmpty()) {
-            User demoUser = new User();
-            demoUser.setUsername("demo");
-            demoUser.setEmail("demo@trackexpenses.com");
-            demoUser.setPassword(passwordEncoder.encode("demo123"));
-            demoUser.setRole(Role.USER);
-            demoUser.setIsActive(true);
-            demoUser.setCreatedAt(LocalDateTime.now());
-            userRepository.save(demoUser);
-            created++;
-        }
-
+        int created = dataSeedService.seedUsers();
         return ResponseEntity.ok("Users initialized: " + created + " new users created");
     }
 
-    @Operation(summary = "Initialize sample expenses")
+    @Operation(summary = "Initialize sample expenses",
+            description = "Inserts 14 sample expenses per scale unit; copies are spread over the last two years.")
     @PostMapping("/expenses")
-    public ResponseEntity<String> initializeExpenses() {
-        User testUser = userRepository.findByUsername("testuser").orElse(null);
+    public ResponseEntity<String> initializeExpenses(
+            @Parameter(description = "Number of copies of sample expenses") @RequestParam(defaultValue = "1") int scale) {
+        if (scale < 1) {
+            return ResponseEntity.badRequest().body("Scale must be positive");
+        }
+
+        User testUser = userRepository.findByUsername(DataSeedService.SAMPLE_USERNAME).orElse(null);
         if (testUser == null) {
             return ResponseEntity.badRequest().body("Test user not found. Initialize users first.");
         }
-
-        Category foodCategory = categoryRepository.findByName("Food").orElse(null);
-        Category transportCategory = categoryRepository.findByName("Transportation").orElse(null);
-        Category entertainmentCategory = categoryRepository.findByName("Entertainment").orElse(null);
-        Category billsCategory = categoryRepository.findByName("Bills").orElse(null);
-
-        if (foodCategory == null) {
+        if (categoryRepository.findByName("Food").isEmpty()) {
             return ResponseEntity.badRequest().body("Categories not found. Initialize categories first.");
         }
 
-        int created = 0;
-        LocalDate today = LocalDate.now();
-
-        Object[][] sampleExpenses = {
-                {new BigDecimal("45.50"), "Grocery shopping", today.minusDays(2), foodCategory},
-                {new BigDecimal("12.00"), "Bus ticket", today.minusDays(1), transportCategory},
-                {new BigDecimal("25.00"), "Movie ticket", today.minusDays(3), entertainmentCategory},
-                {new BigDecimal("150.00"), "Electricity bill", today.minusDays(5), billsCategory},
-                {new BigDecimal("35.75"), "Restaurant dinner", today.minusDays(1), foodCategory},
-                {new BigDecimal("60.00"), "Gas station", today.minusDays(4), transportCategory},
-                {new BigDecimal("8.50"), "Coffee", today, foodCategory},
-                {new BigDecimal("120.00"), "Internet bill", today.minusDays(10), billsCategory},
-
-                {new BigDecimal("200.00"), "Monthly groceries", today.minusMonths(1).minusDays(15), foodCategory},
-                {new BigDecimal("80.00"), "Gas", today.minusMonths(1).minusDays(10), transportCategory},
-                {new BigDecimal("40.00"), "Cinema", today.minusMonths(1).minusDays(5), entertainmentCategory},
-                {new BigDecimal("75.00"), "Lunch", today.minusMonths(1).minusDays(20), foodCategory},
-
-                {new BigDecimal("300.00"), "Big shopping", today.minusMonths(2).minusDays(12), foodCategory},
-                {new BigDecimal("90.00"), "Transport pass", today.minusMonths(2).minusDays(8), transportCategory}
-        };
-
-        for (Object[] expenseData : sampleExpenses) {
-            Expense expense = new Expense();
-            expense.setAmount((BigDecimal) expenseData[0]);
-            expense.setDescription((String) expenseData[1]);
-            expense.setDate((LocalDate) expenseData[2]);
-            expense.setCategory((Category) expenseData[3]);
-            expense.setUser(testUser);
-            expense.setCreatedAt(LocalDateTime.now());
-            expenseRepository.save(expense);
-            created++;
-        }
-
+        long created = dataSeedService.seedExpenses(testUser.getId(), scale);
         return ResponseEntity.ok("Sample expenses created: " + created + " expenses added");
     }
 
-    @Operation(summary = "Initialize sample budgets")
+    @Operation(summary = "Initialize sample budgets",
+            description = "Inserts sample budgets for the current and next month; each scale unit adds one earlier month.")
     @PostMapping("/budgets")
-    public ResponseEntity<String> initializeBudgets() {
-        User testUser = userRepository.findByUsername("testuser").orElse(null);
+    public ResponseEntity<String> initializeBudgets(
+            @Parameter(description = "Number of months of sample budgets") @RequestParam(defaultValue = "1") int scale) {
+        if (scale < 1) {
+            return ResponseEntity.badRequest().body("Scale must be positive");
+        }
+
+        User testUser = userRepository.findByUsername(DataSeedService.SAMPLE_USERNAME).orElse(null);
         if (testUser == null) {
             return ResponseEntity.badRequest().body("Test user not found. Initialize users first.");
         }
-
-        Category foodCategory = categoryRepository.findByName("Food").orElse(null);
-        Category transportCategory = categoryRepository.findByName("Transportation").orElse(null);
-        Category entertainmentCategory = categoryRepository.findByName("Entertainment").orElse(null);
-        Category billsCategory = categoryRepository.findByName("Bills").orElse(null);
-
-        if (foodCategory == null) {
+        if (categoryRepository.findByName("Food").isEmpty()) {
             return ResponseEntity.badRequest().body("Categories not found. Initialize categories first.");
         }
 
-        int created = 0;
-        LocalDate today = LocalDate.now();
-        int currentYear = today.getYear();
-        int currentMonth = today.getMonthValue();
-
-        Object[][] sampleBudgets = {
-                {new BigDecimal("500.00"), foodCategory, currentMonth, currentYear},
-                {new BigDecimal("200.00"), transportCategory, currentMonth, currentYear},
-                {new BigDecimal("100.00"), entertainmentCategory, currentMonth, currentYear},
-                {new BigDecimal("300.00"), billsCategory, currentMonth, currentYear},
-
-                {new BigDecimal("600.00"), foodCategory, currentMonth == 12 ? 1 : currentMonth + 1, currentMonth == 12 ? currentYear + 1 : currentYear},
-                {new BigDecimal("250.00"), transportCategory, currentMonth == 12 ? 1 : currentMonth + 1, currentMonth == 12 ? currentYear + 1 : currentYear}
-        };
-
-        for (Object[] budgetData : sampleBudgets) {
-            if (budgetRepository.findByUserAndCategoryAndYearAndMonth(
-                    testUser, (Category) budgetData[1], (Integer) budgetData[3], (Integer) budgetData[2]).isEmpty()) {
+        int created = dataSeedService.seedBudgets(testUser.getId(), scale);
+        return ResponseEntity.ok("Sample budgets created: " + created + " budgets added");
+    }
 
-                Budget budget = new Budget();
-                budget.setAmount((BigDecimal) budgetData[0]);
-                budget.setCategory((Category) budgetData[1]);
-                budget.setMonth((Integer) budgetData[2]);
-                budget.setYear((Integer) budgetData[3]);
-                budget.setUser(testUser);
-                budget.setCreatedAt(LocalDateTime.now());
-                budgetRepository.save(budget);
-                created++;
-            }
+    @Operation(summary = "Generate synthetic load-test data (admin only)",
+            description = "Creates users loadtest<n> (password loadtest123) with expenses and budgets spread across categories and years.")
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SyntheticDataResultDto> generateSyntheticData(
+            @Parameter(description = "Number of users to create") @RequestParam(defaultValue = "100") int users,
+            @Parameter(description = "Average number of expenses per user") @RequestParam(defaultValue = "200") int expensesPerUser,
+            @Parameter(description = "Number of years back from today") @RequestParam(defaultValue = "3") int years,
+            @Parameter(description = "Random seed") @RequestParam(defaultValue = "42") long seed) {
+        try {
+            return ResponseEntity.ok(syntheticDataGenerator.generate(users, expensesPerUser, years, seed));
+        } catch (RuntimeException e) {
+            log.error("Error generating synthetic data", e);
+            return ResponseEntity.badRequest().build();
         }
-
-        return ResponseEntity.ok("Sample budgets created: " + created + " budgets added");
     }
 
-    @Operation(summary = "Clear all data")
+    @Operation(summary = "Clear all data",
+            description = "Deletes all expenses and budgets in the background in chunks; poll /api/init/clear/{jobId} for progress.")
     @PostMapping("/clear")
-    public ResponseEntity<String> clearAllData() {
-        try {
-            expenseRepository.deleteAll();
-            budgetRepository.deleteAll();
+    public ResponseEntity<PurgeJobDto> clearAllData() {
+        return ResponseEntity.accepted().body(dataPurgeService.startClearAll());
+    }
 
-            return ResponseEntity.ok("All expenses and budgets cleared successfully");
-        } catch (Exception e) {
-            log.error("Error clearing data", e);
-            return ResponseEntity.status(500).body("Error clearing data: " + e.getMessage());
-        }
+    @Operation(summary = "Get clear job progress")
+    @GetMapping("/clear/{jobId}")
+    public ResponseEntity<PurgeJobDto> getClearJob(
+            @Parameter(description = "Clear job ID") @PathVariable String jobId) {
+        return dataPurgeService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Get data status")
@@ -1,7 +1,9 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.PurgeJobDto;
 import com.example.trackexpenses.dto.UserDto;
 import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.service.StatsService;
 import com.example.trackexpenses.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,7 +14,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,7 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final StatsService statsService;
 
     @Operation(summary = "Get all users (Admin only)")
     @GetMapping
@@ -83,27 +85,33 @@ public class UserController {
         }
     }
 
-    @Operation(summary = "Delete user (Admin only)")
+    @Operation(summary = "Delete user (Admin only)",
+            description = "Deactivates the user immediately and purges their data in the background; returns the purge job.")
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteUser(
+    public ResponseEntity<PurgeJobDto> deleteUser(
             @Parameter(description = "User ID") @PathVariable Integer id) {
         try {
-            userService.deleteUser(id);
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.accepted().body(userService.deleteUser(id));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @Operation(summary = "Get user purge job progress (Admin only)")
+    @GetMapping("/purge-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PurgeJobDto> getPurgeJob(
+            @Parameter(description = "Purge job ID") @PathVariable String jobId) {
+        return userService.findPurgeJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "Get user statistics (Admin only)")
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getUserStats() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("totalUsers", userService.findAllUsers().size());
-        stats.put("activeUsers", userService.findAllUsers().stream()
-                .filter(user -> user.getIsActive()).count());
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(statsService.getUserStats());
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class BudgetStatusDto {
+    private Integer budgetId;
+    private Integer categoryId;
+    private String category;
+    private BigDecimal budgetAmount;
+    private BigDecimal spentAmount;
+    private BigDecimal remainingAmount;
+    private Double usagePercentage;
+    private Boolean isOverBudget;
+}
@@ -0,0 +1,13 @@
+package com.example.trackexpenses.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportErrorDto {
+    private Long row;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkImportResultDto {
+    private Long received = 0L;
+    private Long imported = 0L;
+    private Long failed = 0L;
+    private Boolean completed = true;
+    private List<BulkImportErrorDto> errors = new ArrayList<>();
+}
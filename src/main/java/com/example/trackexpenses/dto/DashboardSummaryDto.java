@@ -0,0 +1,17 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class DashboardSummaryDto {
+    private BigDecimal currentMonthExpenses;
+    private BigDecimal totalExpenses;
+    private BigDecimal currentMonthBudget;
+    private List<ExpenseDto> recentExpenses;
+    private Integer totalCategories;
+    private Map<CategoryDto, BigDecimal> expensesByCategory;
+}
@@ -1,12 +1,14 @@
 package com.example.trackexpenses.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class ExpenseDto {
     private Integer id;
     private BigDecimal amount;
@@ -15,4 +17,27 @@ public class ExpenseDto {
     private CategoryDto category;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Konstruktor dla projekcji JPQL (SELECT new ...) – kolumny wydatku i kategorii
+     * trafiają prosto do DTO, bez ładowania encji do kontekstu utrwalania.
+     */
+    public ExpenseDto(Integer id, BigDecimal amount, String description, LocalDate date,
+                      Integer categoryId, String categoryName, String categoryDescription,
+                      String categoryColorCode, Boolean categoryIsDefault,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.amount = amount;
+        this.description = description;
+        this.date = date;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+
+        this.category = new CategoryDto();
+        this.category.setId(categoryId);
+        this.category.setName(categoryName);
+        this.category.setDescription(categoryDescription);
+        this.category.setColorCode(categoryColorCode);
+        this.category.setIsDefault(categoryIsDefault);
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExpensePageDto {
+    private List<ExpenseDto> items;
+    private String nextCursor;
+    private Boolean hasMore;
+}
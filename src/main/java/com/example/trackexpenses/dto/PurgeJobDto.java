@@ -0,0 +1,19 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class PurgeJobDto {
+    private String id;
+    private String type;
+    private Integer userId;
+    private String status;
+    private Long expensesDeleted;
+    private Long budgetsDeleted;
+    private Long chunks;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
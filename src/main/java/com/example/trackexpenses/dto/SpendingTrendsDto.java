@@ -0,0 +1,15 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+public class SpendingTrendsDto {
+    private Integer months;
+    private Integer rollingWindow;
+    private Map<String, BigDecimal> monthlySpending;
+    private Map<String, BigDecimal> rollingAverage;
+    private BigDecimal averageMonthlySpending;
+}
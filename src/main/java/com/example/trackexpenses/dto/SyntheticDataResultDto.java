@@ -0,0 +1,12 @@
+package com.example.trackexpenses.dto;
+
+import lombok.Data;
+
+@Data
+public class SyntheticDataResultDto {
+    private Integer users = 0;
+    private Long expenses = 0L;
+    private Long budgets = 0L;
+    private String usernamePrefix;
+    private Long elapsedMillis = 0L;
+}
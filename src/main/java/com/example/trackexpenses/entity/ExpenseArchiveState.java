@@ -0,0 +1,26 @@
+package com.example.trackexpenses.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Jedyny wiersz (id = 1) z granicą archiwum: wszystkie zarchiwizowane wydatki mają datę wcześniejszą
+ * niż archivedBefore. Zapisywany przez archive_expenses_month w tej samej transakcji co przeniesienie wierszy.
+ */
+@Entity
+@Table(name = "expense_archive_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseArchiveState {
+
+    @Id
+    private Integer id;
+
+    @Column(name = "archived_before", nullable = false)
+    private LocalDate archivedBefore;
+}
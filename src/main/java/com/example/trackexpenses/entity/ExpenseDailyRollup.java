@@ -0,0 +1,36 @@
+package com.example.trackexpenses.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "expense_daily_rollup")
+@IdClass(ExpenseDailyRollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseDailyRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "expense_count", nullable = false)
+    private Integer expenseCount;
+}
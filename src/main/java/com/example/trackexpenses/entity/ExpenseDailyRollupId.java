@@ -0,0 +1,17 @@
+package com.example.trackexpenses.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseDailyRollupId implements Serializable {
+    private Integer userId;
+    private Integer categoryId;
+    private LocalDate day;
+}
@@ -0,0 +1,39 @@
+package com.example.trackexpenses.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Miesięczna suma zarchiwizowanych wydatków per użytkownik i kategoria; month to pierwszy dzień miesiąca.
+ */
+@Entity
+@Table(name = "expense_monthly_summary")
+@IdClass(ExpenseMonthlySummaryId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseMonthlySummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Id
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Id
+    @Column(name = "month")
+    private LocalDate month;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "expense_count", nullable = false)
+    private Integer expenseCount;
+}
@@ -38,9 +38,10 @@ public class User {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    // Bez kaskady: dane użytkownika usuwa zbiorczo DataPurgeService, a nie Hibernate wiersz po wierszu
+    @OneToMany(mappedBy = "user")
     private List<Expense> expenses;
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "user")
     private List<Budget> budgets;
 }
\ No newline at end of file
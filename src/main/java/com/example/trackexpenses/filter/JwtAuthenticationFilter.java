@@ -1,14 +1,19 @@
 package com.example.trackexpenses.filter;
 
 import com.example.trackexpenses.service.CustomUserDetailsService;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
+import com.example.trackexpenses.service.RevokedUserRegistry;
 import com.example.trackexpenses.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,6 +22,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
@@ -25,22 +31,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final RevokedUserRegistry revokedUserRegistry;
+
+    // W trybie bezstanowym principal budowany jest z claims tokena, bez zapytania do bazy
+    @Value("${app.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? jwtUtil.parseClaims(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
+            if (claims != null) {
+                UserDetails userDetails = stateless && hasPrincipalClaims(claims)
+                        ? createPrincipalFromClaims(claims)
+                        : userDetailsService.loadUserByUsername(claims.getSubject());
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -49,6 +64,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Tokeny wydane przed dodaniem claims są weryfikowane przez bazę
+    private boolean hasPrincipalClaims(Claims claims) {
+        return claims.get(JwtUtil.CLAIM_USER_ID) != null && claims.get(JwtUtil.CLAIM_ROLE) != null;
+    }
+
+    private UserDetails createPrincipalFromClaims(Claims claims) {
+        Integer userId = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+        Boolean active = claims.get(JwtUtil.CLAIM_ACTIVE, Boolean.class);
+        if (!Boolean.TRUE.equals(active) || revokedUserRegistry.isRevoked(userId)) {
+            log.warn("Rejected token of inactive or revoked user {}", userId);
+            return null;
+        }
+
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        return new UserPrincipal(userId, claims.getSubject(), null, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)), true);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -56,4 +89,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.example.trackexpenses.repository;
+
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.ArchivedExpense;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Odczyty z archiwum odpowiadające zapytaniom {@link ExpenseRepository}; wypełniane tylko przez archive_expenses_month (V7).
+ */
+@Repository
+public interface ArchivedExpenseRepository extends JpaRepository<ArchivedExpense, Integer> {
+
+    String ARCHIVED_DTO_SELECT = "SELECT new com.example.trackexpenses.dto.ExpenseDto(" +
+            "a.id, a.amount, a.description, a.date, c.id, c.name, c.description, c.colorCode, c.isDefault, " +
+            "a.createdAt, a.updatedAt) FROM ArchivedExpense a JOIN a.category c ";
+
+    @Query(ARCHIVED_DTO_SELECT + "ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findAllDtos();
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.id = :id")
+    Optional<ExpenseDto> findDtoById(@Param("id") Integer id);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtosByUserId(@Param("userId") Integer userId);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtoPageByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId AND (a.date < :date OR (a.date = :date AND a.id < :id)) " +
+            "ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtoPageByUserIdAfterCursor(@Param("userId") Integer userId,
+                                                    @Param("date") LocalDate date,
+                                                    @Param("id") Integer id,
+                                                    Pageable pageable);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndDateBetween(@Param("userId") Integer userId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId AND c.id = :categoryId ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndCategoryId(@Param("userId") Integer userId,
+                                                   @Param("categoryId") Integer categoryId);
+
+    @Query(ARCHIVED_DTO_SELECT + "WHERE a.user.id = :userId AND a.amount BETWEEN :minAmount AND :maxAmount " +
+            "ORDER BY a.date DESC, a.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndAmountBetween(@Param("userId") Integer userId,
+                                                      @Param("minAmount") BigDecimal minAmount,
+                                                      @Param("maxAmount") BigDecimal maxAmount);
+
+    @Query("SELECT SUM(a.amount) FROM ArchivedExpense a WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountByUserIdAndDateBetween(@Param("userId") Integer userId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT COUNT(a) FROM ArchivedExpense a WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate")
+    long countByUserIdAndDateBetween(@Param("userId") Integer userId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT EXTRACT(YEAR FROM a.date), EXTRACT(MONTH FROM a.date), SUM(a.amount) FROM ArchivedExpense a " +
+            "WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM a.date), EXTRACT(MONTH FROM a.date)")
+    List<Object[]> sumAmountByUserIdGroupedByMonth(@Param("userId") Integer userId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT a.category, SUM(a.amount) FROM ArchivedExpense a " +
+            "WHERE a.user.id = :userId AND a.date BETWEEN :startDate AND :endDate GROUP BY a.category")
+    List<Object[]> findExpensesSumByCategory(@Param("userId") Integer userId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+}
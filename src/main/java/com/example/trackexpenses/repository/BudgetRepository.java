@@ -3,22 +3,57 @@ package com.example.trackexpenses.repository;
 import com.example.trackexpenses.entity.Budget;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Integer> {
 
+    // Powiązania są leniwe; metody, których wynik trafia do BudgetDto, dociągają kategorię w tym samym zapytaniu
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Budget> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Budget> findById(Integer id);
+
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUser(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUserAndYear(User user, Integer year);
 
+    @EntityGraph(attributePaths = "category")
     List<Budget> findByUserAndYearAndMonth(User user, Integer year, Integer month);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Budget> findByUserAndCategoryAndYearAndMonth(User user, Category category, Integer year, Integer month);
 
+    @Query("SELECT SUM(b.amount) FROM Budget b WHERE b.user.id = :userId AND b.year = :year AND b.month = :month")
+    BigDecimal sumAmountByUserIdAndYearAndMonth(@Param("userId") Integer userId,
+                                                @Param("year") Integer year,
+                                                @Param("month") Integer month);
+
+    long countByUser(User user);
+
     boolean existsByUserAndCategoryAndYearAndMonth(User user, Category category, Integer year, Integer month);
+
+    @Query("SELECT b.id, c.id, c.name, b.amount, SUM(e.amount) FROM Budget b JOIN b.category c " +
+            "LEFT JOIN Expense e ON e.user = b.user AND e.category = b.category AND e.date BETWEEN :startDate AND :endDate " +
+            "WHERE b.user = :user AND b.year = :year AND b.month = :month " +
+            "GROUP BY b.id, c.id, c.name, b.amount ORDER BY c.name")
+    List<Object[]> findBudgetStatusByUserAndYearAndMonth(@Param("user") User user,
+                                                         @Param("year") Integer year,
+                                                         @Param("month") Integer month,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.trackexpenses.repository;
 
 import com.example.trackexpenses.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +11,13 @@ import java.util.Optional;
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     Optional<Category> findByName(String name);
+
+    @Query("SELECT COUNT(c) AS total, SUM(CASE WHEN c.isDefault = true THEN 1 ELSE 0 END) AS defaults FROM Category c")
+    CategoryCounts countCategories();
+
+    interface CategoryCounts {
+        Long getTotal();
+
+        Long getDefaults();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.trackexpenses.repository;
+
+import com.example.trackexpenses.entity.ExpenseArchiveState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface ExpenseArchiveStateRepository extends JpaRepository<ExpenseArchiveState, Integer> {
+
+    @Query("SELECT s.archivedBefore FROM ExpenseArchiveState s WHERE s.id = 1")
+    LocalDate findArchivedBefore();
+}
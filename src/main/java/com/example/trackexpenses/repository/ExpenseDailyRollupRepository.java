@@ -0,0 +1,72 @@
+package com.example.trackexpenses.repository;
+
+import com.example.trackexpenses.entity.ExpenseDailyRollup;
+import com.example.trackexpenses.entity.ExpenseDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseDailyRollupRepository extends JpaRepository<ExpenseDailyRollup, ExpenseDailyRollupId> {
+
+    @Modifying
+    @Query(value = "INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count) " +
+            "VALUES (:userId, :categoryId, :day, :amount, :count) " +
+            "ON CONFLICT (user_id, category_id, day) DO UPDATE SET " +
+            "total_amount = expense_daily_rollup.total_amount + EXCLUDED.total_amount, " +
+            "expense_count = expense_daily_rollup.expense_count + EXCLUDED.expense_count",
+            nativeQuery = true)
+    void applyDelta(@Param("userId") Integer userId,
+                    @Param("categoryId") Integer categoryId,
+                    @Param("day") LocalDate day,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") Integer count);
+
+    @Modifying
+    @Query(value = "DELETE FROM expense_daily_rollup WHERE user_id = :userId AND category_id = :categoryId " +
+            "AND day = :day AND expense_count <= 0", nativeQuery = true)
+    void deleteIfEmpty(@Param("userId") Integer userId,
+                       @Param("categoryId") Integer categoryId,
+                       @Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "LOCK TABLE expenses IN SHARE MODE", nativeQuery = true)
+    void lockExpensesForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM expense_daily_rollup", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count) " +
+            "SELECT user_id, category_id, date, SUM(amount), COUNT(*) FROM expenses " +
+            "GROUP BY user_id, category_id, date", nativeQuery = true)
+    int insertFromExpenses();
+
+    @Query("SELECT SUM(r.totalAmount) FROM ExpenseDailyRollup r WHERE r.userId = :userId")
+    BigDecimal sumAmountByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT SUM(r.totalAmount) FROM ExpenseDailyRollup r WHERE r.userId = :userId AND r.day BETWEEN :startDate AND :endDate")
+    BigDecimal sumAmountByUserIdAndDayBetween(@Param("userId") Integer userId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT EXTRACT(YEAR FROM r.day), EXTRACT(MONTH FROM r.day), SUM(r.totalAmount) FROM ExpenseDailyRollup r " +
+            "WHERE r.userId = :userId AND r.day BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM r.day), EXTRACT(MONTH FROM r.day)")
+    List<Object[]> sumAmountByUserIdGroupedByMonth(@Param("userId") Integer userId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT c, SUM(r.totalAmount) FROM ExpenseDailyRollup r JOIN Category c ON c.id = r.categoryId " +
+            "WHERE r.userId = :userId AND r.day BETWEEN :startDate AND :endDate GROUP BY c ORDER BY SUM(r.totalAmount) DESC")
+    List<Object[]> findExpensesSumByCategory(@Param("userId") Integer userId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+}
@@ -0,0 +1,41 @@
+package com.example.trackexpenses.repository;
+
+import com.example.trackexpenses.entity.ExpenseMonthlySummary;
+import com.example.trackexpenses.entity.ExpenseMonthlySummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseMonthlySummaryRepository extends JpaRepository<ExpenseMonthlySummary, ExpenseMonthlySummaryId> {
+
+    @Query("SELECT SUM(s.totalAmount) FROM ExpenseMonthlySummary s " +
+            "WHERE s.userId = :userId AND s.month BETWEEN :fromMonth AND :toMonth")
+    BigDecimal sumAmountByUserIdAndMonthBetween(@Param("userId") Integer userId,
+                                                @Param("fromMonth") LocalDate fromMonth,
+                                                @Param("toMonth") LocalDate toMonth);
+
+    @Query("SELECT SUM(s.expenseCount) FROM ExpenseMonthlySummary s " +
+            "WHERE s.userId = :userId AND s.month BETWEEN :fromMonth AND :toMonth")
+    Long countByUserIdAndMonthBetween(@Param("userId") Integer userId,
+                                      @Param("fromMonth") LocalDate fromMonth,
+                                      @Param("toMonth") LocalDate toMonth);
+
+    @Query("SELECT EXTRACT(YEAR FROM s.month), EXTRACT(MONTH FROM s.month), SUM(s.totalAmount) FROM ExpenseMonthlySummary s " +
+            "WHERE s.userId = :userId AND s.month BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY EXTRACT(YEAR FROM s.month), EXTRACT(MONTH FROM s.month)")
+    List<Object[]> sumAmountByUserIdGroupedByMonth(@Param("userId") Integer userId,
+                                                   @Param("fromMonth") LocalDate fromMonth,
+                                                   @Param("toMonth") LocalDate toMonth);
+
+    @Query("SELECT c, SUM(s.totalAmount) FROM ExpenseMonthlySummary s JOIN Category c ON c.id = s.categoryId " +
+            "WHERE s.userId = :userId AND s.month BETWEEN :fromMonth AND :toMonth GROUP BY c")
+    List<Object[]> findExpensesSumByCategory(@Param("userId") Integer userId,
+                                             @Param("fromMonth") LocalDate fromMonth,
+                                             @Param("toMonth") LocalDate toMonth);
+}
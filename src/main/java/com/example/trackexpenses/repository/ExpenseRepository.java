@@ -1,8 +1,11 @@
 package com.example.trackexpenses.repository;
 
+import com.example.trackexpenses.dto.ExpenseDto;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.entity.Expense;
 import com.example.trackexpenses.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,17 +14,61 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
 
-    List<Expense> findByUser(User user);
+    // Powiązania są leniwe; findAll/findById dociągają kategorię w tym samym zapytaniu
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Expense> findAll();
 
-    List<Expense> findByUserAndDateBetween(User user, LocalDate startDate, LocalDate endDate);
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Optional<Expense> findById(Integer id);
 
-    List<Expense> findByUserAndCategory(User user, Category category);
+    // Projekcja list wydatków: tylko potrzebne kolumny wydatku i kategorii, bez zarządzanych encji
+    String EXPENSE_DTO_SELECT = "SELECT new com.example.trackexpenses.dto.ExpenseDto(" +
+            "e.id, e.amount, e.description, e.date, c.id, c.name, c.description, c.colorCode, c.isDefault, " +
+            "e.createdAt, e.updatedAt) FROM Expense e JOIN e.category c ";
 
-    List<Expense> findByUserAndAmountBetween(User user, BigDecimal minAmount, BigDecimal maxAmount);
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtosByUserId(@Param("userId") Integer userId);
+
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtoPageByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId AND (e.date < :date OR (e.date = :date AND e.id < :id)) " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtoPageByUserIdAfterCursor(@Param("userId") Integer userId,
+                                                    @Param("date") LocalDate date,
+                                                    @Param("id") Integer id,
+                                                    Pageable pageable);
+
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId AND e.date BETWEEN :startDate AND :endDate " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndDateBetween(@Param("userId") Integer userId,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId AND c.id = :categoryId ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndCategoryId(@Param("userId") Integer userId,
+                                                   @Param("categoryId") Integer categoryId);
+
+    @Query(EXPENSE_DTO_SELECT + "WHERE e.user.id = :userId AND e.amount BETWEEN :minAmount AND :maxAmount " +
+            "ORDER BY e.date DESC, e.id DESC")
+    List<ExpenseDto> findDtosByUserIdAndAmountBetween(@Param("userId") Integer userId,
+                                                      @Param("minAmount") BigDecimal minAmount,
+                                                      @Param("maxAmount") BigDecimal maxAmount);
+
+    // Liczba wydatków, suma całkowita i suma z okresu w jednym przejściu po wydatkach użytkownika
+    @Query("SELECT COUNT(e) AS expenseCount, SUM(e.amount) AS totalAmount, " +
+            "SUM(CASE WHEN e.date BETWEEN :startDate AND :endDate THEN e.amount ELSE 0 END) AS periodAmount " +
+            "FROM Expense e WHERE e.user.id = :userId")
+    ExpenseTotals sumTotalsByUserId(@Param("userId") Integer userId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
 
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user = :user")
     BigDecimal sumAmountByUser(@Param("user") User user);
@@ -31,6 +78,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
                                              @Param("startDate") LocalDate startDate,
                                              @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date), SUM(e.amount) FROM Expense e " +
+            "WHERE e.user = :user AND e.date BETWEEN :startDate AND :endDate " +
+            "GROUP BY EXTRACT(YEAR FROM e.date), EXTRACT(MONTH FROM e.date)")
+    List<Object[]> sumAmountByUserGroupedByMonth(@Param("user") User user,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
     @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.user = :user AND e.category = :category AND e.date BETWEEN :startDate AND :endDate")
     BigDecimal sumAmountByUserAndCategoryAndDateBetween(@Param("user") User user,
                                                         @Param("category") Category category,
@@ -41,4 +95,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
     List<Object[]> findExpensesSumByCategory(@Param("user") User user,
                                              @Param("startDate") LocalDate startDate,
                                              @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+
+    interface ExpenseTotals {
+        Long getExpenseCount();
+
+        BigDecimal getTotalAmount();
+
+        BigDecimal getPeriodAmount();
+    }
+}
@@ -2,8 +2,11 @@ package com.example.trackexpenses.repository;
 
 import com.example.trackexpenses.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,17 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT u.id FROM User u WHERE u.isActive = :isActive")
+    List<Integer> findIdsByIsActive(@Param("isActive") Boolean isActive);
+
+    // Wszystkie liczniki jednym zapytaniem, bez ładowania użytkowników
+    @Query("SELECT COUNT(u) AS total, SUM(CASE WHEN u.isActive = true THEN 1 ELSE 0 END) AS active FROM User u")
+    UserCounts countUsers();
+
+    interface UserCounts {
+        Long getTotal();
+
+        Long getActive();
+    }
+
 }
@@ -36,11 +36,11 @@ public class AuthService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String jwt = jwtUtil.generateToken(loginDto.getUsername());
-
         User user = userRepository.findByUsername(loginDto.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        String jwt = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole(), Boolean.TRUE.equals(user.getIsActive()));
+
         return new LoginResponseDto(jwt, user.getId(), user.getUsername(), user.getEmail(), user.getRole());
     }
 
@@ -57,7 +57,7 @@ public class AuthService {
 
         var userDto = userService.registerUser(registrationDto);
 
-        String jwt = jwtUtil.generateToken(userDto.getUsername());
+        String jwt = jwtUtil.generateToken(userDto.getId(), userDto.getUsername(), userDto.getRole(), Boolean.TRUE.equals(userDto.getIsActive()));
 
         return new LoginResponseDto(jwt, userDto.getId(), userDto.getUsername(),
                 userDto.getEmail(), userDto.getRole());
@@ -2,6 +2,7 @@ package com.example.trackexpenses.service;
 
 import com.example.trackexpenses.dto.BudgetCreateDto;
 import com.example.trackexpenses.dto.BudgetDto;
+import com.example.trackexpenses.dto.BudgetStatusDto;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.entity.Budget;
 import com.example.trackexpenses.entity.Category;
@@ -9,14 +10,18 @@ import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.BudgetRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class BudgetService {
 
+    private static final String BUDGET_PERIOD_CONSTRAINT = "uq_budgets_user_category_period";
+
     private final BudgetRepository budgetRepository;
     private final ExpenseRepository expenseRepository;
     private final UserService userService;
@@ -93,13 +100,6 @@ public class BudgetService {
 
         Category category = categoryService.findCategoryById(budgetCreateDto.getCategoryId());
 
-        Optional<Budget> existingBudget = budgetRepository.findByUserAndCategoryAndYearAndMonth(
-                currentUser, category, budgetCreateDto.getYear(), budgetCreateDto.getMonth());
-
-        if (existingBudget.isPresent()) {
-            throw new RuntimeException("Budget already exists for this category and period");
-        }
-
         if (budgetCreateDto.getMonth() < 1 || budgetCreateDto.getMonth() > 12) {
             throw new RuntimeException("Month must be between 1 and 12");
         }
@@ -116,10 +116,30 @@ public class BudgetService {
         budget.setYear(budgetCreateDto.getYear());
         budget.setCreatedAt(LocalDateTime.now());
 
-        Budget savedBudget = budgetRepository.save(budget);
+        // Duplikat (użytkownik, kategoria, rok, miesiąc) odrzuca ograniczenie uq_budgets_user_category_period
+        Budget savedBudget;
+        try {
+            savedBudget = budgetRepository.saveAndFlush(budget);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesBudgetPeriodConstraint(e)) {
+                throw e;
+            }
+            throw new RuntimeException("Budget already exists for this category and period");
+        }
         return convertToDto(savedBudget);
     }
 
+    // Inne naruszenia (klucz obcy, NOT NULL) nie oznaczają duplikatu i są przekazywane dalej
+    private static boolean violatesBudgetPeriodConstraint(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        if (constraint == null) {
+            constraint = e.getMostSpecificCause().getMessage();
+        }
+        return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(BUDGET_PERIOD_CONSTRAINT);
+    }
+
     public BudgetDto updateBudget(Integer id, BudgetCreateDto budgetCreateDto) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
@@ -200,6 +220,41 @@ public class BudgetService {
         return spent != null ? spent : BigDecimal.ZERO;
     }
 
+    @Transactional(readOnly = true)
+    public List<BudgetStatusDto> getBudgetStatusForMonth(Integer year, Integer month) {
+        User currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return new ArrayList<>();
+        }
+
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
+
+        List<Object[]> results = budgetRepository.findBudgetStatusByUserAndYearAndMonth(
+                currentUser, year, month, startDate, endDate);
+        List<BudgetStatusDto> statuses = new ArrayList<>(results.size());
+
+        for (Object[] result : results) {
+            BigDecimal budgetAmount = (BigDecimal) result[3];
+            BigDecimal spent = result[4] != null ? (BigDecimal) result[4] : BigDecimal.ZERO;
+
+            BudgetStatusDto status = new BudgetStatusDto();
+            status.setBudgetId((Integer) result[0]);
+            status.setCategoryId((Integer) result[1]);
+            status.setCategory((String) result[2]);
+            status.setBudgetAmount(budgetAmount);
+            status.setSpentAmount(spent);
+            status.setRemainingAmount(budgetAmount.subtract(spent));
+            status.setUsagePercentage(budgetAmount.compareTo(BigDecimal.ZERO) > 0
+                    ? spent.divide(budgetAmount, 4, RoundingMode.HALF_UP).multiply(new BigDecimal("100")).doubleValue()
+                    : 0.0);
+            status.setIsOverBudget(spent.compareTo(budgetAmount) > 0);
+            statuses.add(status);
+        }
+
+        return statuses;
+    }
+
     @Transactional(readOnly = true)
     public BigDecimal getRemainingBudgetForCategory(Integer categoryId, Integer year, Integer month) {
         User currentUser = userService.getCurrentUser();
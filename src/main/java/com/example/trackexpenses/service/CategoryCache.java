@@ -0,0 +1,93 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Pamięć podręczna kategorii: jedna migawka (mapa id → kategoria i lista wszystkich kategorii)
+ * wczytywana jednym zapytaniem. Zapisy kategorii unieważniają migawkę; TTL chroni przed zmianami
+ * wprowadzonymi poza aplikacją.
+ */
+@Component
+public class CategoryCache {
+
+    private static final String SNAPSHOT_KEY = "categories";
+
+    private final CategoryRepository categoryRepository;
+    private final LoadingCache<String, Snapshot> cache;
+
+    public CategoryCache(CategoryRepository categoryRepository,
+                         @Value("${app.categories.cache-ttl:10m}") Duration ttl) {
+        this.categoryRepository = categoryRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(key -> load());
+    }
+
+    public Optional<Category> findById(Integer id) {
+        return Optional.ofNullable(cache.get(SNAPSHOT_KEY).byId().get(id));
+    }
+
+    public List<Category> findAll() {
+        return cache.get(SNAPSHOT_KEY).all();
+    }
+
+    public Map<Integer, Category> asMap() {
+        return cache.get(SNAPSHOT_KEY).byId();
+    }
+
+    /**
+     * Unieważnia migawkę od razu oraz ponownie po zakończeniu bieżącej transakcji –
+     * inaczej równoległy odczyt mógłby wczytać stan sprzed commitu.
+     */
+    public void invalidate() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Migawka trzyma kopie bez kolekcji expenses/budgets – odłączone od kontekstu persystencji
+     * i bezpieczne do współdzielenia między wątkami.
+     */
+    private Snapshot load() {
+        List<Category> all = new ArrayList<>();
+        Map<Integer, Category> byId = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            Category copy = new Category();
+            copy.setId(category.getId());
+            copy.setName(category.getName());
+            copy.setDescription(category.getDescription());
+            copy.setColorCode(category.getColorCode());
+            copy.setIsDefault(category.getIsDefault());
+            all.add(copy);
+            byId.put(copy.getId(), copy);
+        }
+        return new Snapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableList(all));
+    }
+
+    private record Snapshot(Map<Integer, Category> byId, List<Category> all) {
+    }
+}
@@ -3,12 +3,15 @@ package com.example.trackexpenses.service;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,17 +21,18 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryCache categoryCache;
 
     @Transactional(readOnly = true)
     public List<CategoryDto> findAllCategories() {
-        return categoryRepository.findAll().stream()
+        return categoryCache.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public Optional<CategoryDto> findById(Integer id) {
-        return categoryRepository.findById(id)
+        return categoryCache.findById(id)
                 .map(this::convertToDto);
     }
 
@@ -44,6 +48,7 @@ public class CategoryService {
         category.setIsDefault(false);
 
         Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate();
         return convertToDto(savedCategory);
     }
 
@@ -61,6 +66,7 @@ public class CategoryService {
         category.setColorCode(categoryDto.getColorCode());
 
         Category savedCategory = categoryRepository.save(category);
+        categoryCache.invalidate();
         return convertToDto(savedCategory);
     }
 
@@ -73,6 +79,7 @@ public class CategoryService {
         }
 
         categoryRepository.deleteById(id);
+        categoryCache.invalidate();
     }
 
     public void initializeDefaultCategories() {
@@ -94,16 +101,33 @@ public class CategoryService {
                 category.setColorCode(categoryData[2]);
                 category.setIsDefault(true);
                 categoryRepository.save(category);
+                categoryCache.invalidate();
             }
         }
     }
 
     @Transactional(readOnly = true)
     public Category findCategoryById(Integer id) {
-        return categoryRepository.findById(id)
+        return categoryCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
+    @Transactional(readOnly = true)
+    public Map<Integer, Category> findCategoryMap() {
+        return categoryCache.asMap();
+    }
+
+    public Map<String, Object> getCacheStats() {
+        CacheStats stats = categoryCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loadCount", stats.loadCount());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
     private CategoryDto convertToDto(Category category) {
         CategoryDto dto = new CategoryDto();
         dto.setId(category.getId());
@@ -0,0 +1,42 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Przechowuje encję bieżącego użytkownika w atrybutach żądania, żeby serwisy
+ * nie odpytywały tabeli users przy każdym wywołaniu getCurrentUser().
+ * Poza żądaniem HTTP (zadania w tle, testy) każde wywołanie ładuje użytkownika z bazy.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserHolder {
+
+    private static final String CURRENT_USER_ATTRIBUTE = CurrentUserHolder.class.getName() + ".CURRENT_USER";
+
+    private final UserRepository userRepository;
+
+    public User resolve(UserPrincipal principal) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object cached = attributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached instanceof User user && user.getId().equals(principal.getId())) {
+                return user;
+            }
+        }
+
+        User user = principal.getUser() != null
+                ? principal.getUser()
+                : userRepository.findById(principal.getId()).orElse(null);
+
+        if (attributes != null && user != null) {
+            attributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
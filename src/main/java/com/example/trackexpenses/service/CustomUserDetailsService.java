@@ -36,6 +36,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         private String password;
         private Collection<? extends GrantedAuthority> authorities;
         private boolean isActive;
+        private User user;
 
         public UserPrincipal(Integer id, String username, String email, String password,
                              Collection<? extends GrantedAuthority> authorities, boolean isActive) {
@@ -50,7 +51,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         public static UserPrincipal create(User user) {
             GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
 
-            return new UserPrincipal(
+            UserPrincipal principal = new UserPrincipal(
                     user.getId(),
                     user.getUsername(),
                     user.getEmail(),
@@ -58,6 +59,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                     Collections.singletonList(authority),
                     user.getIsActive()
             );
+            principal.user = user;
+            return principal;
         }
 
         public Integer getId() {
@@ -68,6 +71,13 @@ public class CustomUserDetailsService implements UserDetailsService {
             return email;
         }
 
+        /**
+         * Encja załadowana razem z principalem, jeśli była dostępna (null dla principala zbudowanego bez bazy).
+         */
+        public User getUser() {
+            return user;
+        }
+
         @Override
         public String getUsername() {
             return username;
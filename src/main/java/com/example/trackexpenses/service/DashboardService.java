@@ -0,0 +1,127 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.CategoryDto;
+import com.example.trackexpenses.dto.DashboardSummaryDto;
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.BudgetRepository;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Podsumowanie dashboardu liczone kilkoma niezależnymi zapytaniami agregującymi, wykonywanymi
+ * równolegle przez QueryFanOut (każde we własnej transakcji tylko do odczytu).
+ * Żadne zapytanie nie zwraca pełnej historii wydatków użytkownika – ostatnie wydatki są
+ * ograniczone w SQL, a liczba kategorii pochodzi z cache. Suma całkowita obejmuje też wydatki zarchiwizowane
+ * (ExpenseArchiveService); bieżący miesiąc nigdy nie jest w archiwum.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private final ExpenseRepository expenseRepository;
+    private final BudgetRepository budgetRepository;
+    private final ExpenseDailyRollupRepository rollupRepository;
+    private final CategoryCache categoryCache;
+    private final UserService userService;
+    private final QueryFanOut queryFanOut;
+    private final ExpenseArchiveService expenseArchiveService;
+
+    @Value("${app.reports.use-rollup:false}")
+    private boolean useRollup;
+
+    @Value("${app.dashboard.recent-expenses:10}")
+    private int recentExpenses;
+
+    public DashboardSummaryDto getSummary(LocalDate today) {
+        DashboardSummaryDto summary = new DashboardSummaryDto();
+        summary.setCurrentMonthExpenses(BigDecimal.ZERO);
+        summary.setTotalExpenses(BigDecimal.ZERO);
+        summary.setCurrentMonthBudget(BigDecimal.ZERO);
+        summary.setRecentExpenses(new ArrayList<>());
+        summary.setExpensesByCategory(new HashMap<>());
+        summary.setTotalCategories(categoryCache.findAll().size());
+
+        User currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return summary;
+        }
+
+        Integer userId = currentUser.getId();
+        YearMonth month = YearMonth.from(today);
+        LocalDate startOfMonth = month.atDay(1);
+        LocalDate endOfMonth = month.atEndOfMonth();
+
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Supplier<BigDecimal> monthTotal = scope.fork(() -> useRollup
+                    ? rollupRepository.sumAmountByUserIdAndDayBetween(userId, startOfMonth, endOfMonth)
+                    : expenseRepository.sumAmountByUserAndDateBetween(currentUser, startOfMonth, endOfMonth));
+            Supplier<BigDecimal> lifetimeTotal = scope.fork(() -> useRollup
+                    ? rollupRepository.sumAmountByUserId(userId)
+                    : expenseRepository.sumAmountByUser(currentUser));
+            Supplier<BigDecimal> archivedTotal = scope.fork(() -> archivedTotal(userId));
+            Supplier<BigDecimal> monthBudget = scope.fork(() -> budgetRepository.sumAmountByUserIdAndYearAndMonth(
+                    userId, month.getYear(), month.getMonthValue()));
+            Supplier<List<ExpenseDto>> recent = scope.fork(() ->
+                    expenseRepository.findDtoPageByUserId(userId, PageRequest.of(0, recentExpenses)));
+            Supplier<Map<CategoryDto, BigDecimal>> byCategory = scope.fork(() ->
+                    expensesByCategory(currentUser, startOfMonth, endOfMonth));
+            scope.join();
+
+            summary.setCurrentMonthExpenses(orZero(monthTotal.get()));
+            summary.setTotalExpenses(orZero(lifetimeTotal.get()).add(archivedTotal.get()));
+            summary.setCurrentMonthBudget(orZero(monthBudget.get()));
+            summary.setRecentExpenses(recent.get());
+            summary.setExpensesByCategory(byCategory.get());
+        }
+
+        return summary;
+    }
+
+    private Map<CategoryDto, BigDecimal> expensesByCategory(User user, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> results = useRollup
+                ? rollupRepository.findExpensesSumByCategory(user.getId(), startDate, endDate)
+                : expenseRepository.findExpensesSumByCategory(user, startDate, endDate);
+        Map<CategoryDto, BigDecimal> expensesByCategory = new LinkedHashMap<>();
+        for (Object[] result : results) {
+            expensesByCategory.put(toCategoryDto((Category) result[0]), (BigDecimal) result[1]);
+        }
+        return expensesByCategory;
+    }
+
+    private BigDecimal archivedTotal(Integer userId) {
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        return ExpenseArchiveService.reaches(archivedBefore, null)
+                ? expenseArchiveService.sumAmount(userId, archivedBefore, null, null)
+                : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private CategoryDto toCategoryDto(Category category) {
+        CategoryDto categoryDto = new CategoryDto();
+        categoryDto.setId(category.getId());
+        categoryDto.setName(category.getName());
+        categoryDto.setDescription(category.getDescription());
+        categoryDto.setColorCode(category.getColorCode());
+        categoryDto.setIsDefault(category.getIsDefault());
+        return categoryDto;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.PurgeJobDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Usuwanie dużych ilości danych (wszystkie wydatki, także zarchiwizowane, i budżety albo dane jednego użytkownika)
+ * jako zadanie w tle.
+ * Wiersze są usuwane zbiorowo instrukcjami DELETE po {@code chunk-size} wierszy, każda paczka we własnej transakcji,
+ * więc blokady i rozmiar transakcji nie rosną z liczbą wierszy, a postęp jest widoczny po każdej paczce.
+ * Zadania wykonują się po kolei na jednym wątku, żeby równoległe czyszczenia nie rywalizowały o te same wiersze.
+ */
+@Service
+@Slf4j
+public class DataPurgeService implements DisposableBean {
+
+    public static final String TYPE_CLEAR_ALL = "CLEAR_ALL";
+    public static final String TYPE_USER = "USER";
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_FINISHED_JOBS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final ExecutorService executor;
+    private final Map<String, PurgeJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.purge.chunk-size:5000}")
+    private int chunkSize;
+
+    @Autowired
+    public DataPurgeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            RevokedUserRegistry revokedUserRegistry) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), revokedUserRegistry,
+                Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "data-purge")));
+    }
+
+    DataPurgeService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                     RevokedUserRegistry revokedUserRegistry, ExecutorService executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.revokedUserRegistry = revokedUserRegistry;
+        this.executor = executor;
+    }
+
+    public PurgeJobDto startClearAll() {
+        return submit(new PurgeJob(TYPE_CLEAR_ALL, null), this::clearAll);
+    }
+
+    /**
+     * Użytkownik jest od razu dezaktywowany i jego tokeny odrzucane, a dane znikają w tle.
+     * Wiersz użytkownika jest usuwany na końcu, po wydatkach i budżetach.
+     */
+    public PurgeJobDto startUserPurge(Integer userId) {
+        jdbcTemplate.update("UPDATE users SET is_active = FALSE WHERE id = ?", userId);
+        revokedUserRegistry.revoke(userId);
+        return submit(new PurgeJob(TYPE_USER, userId), this::purgeUser);
+    }
+
+    public Optional<PurgeJobDto> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(PurgeJob::toDto);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void clearAll(PurgeJob job) {
+        deleteInChunks(job, job.expensesDeleted, "DELETE FROM expenses WHERE id IN (SELECT id FROM expenses LIMIT ?)");
+        deleteInChunks(job, job.expensesDeleted,
+                "DELETE FROM expenses_archive WHERE id IN (SELECT id FROM expenses_archive LIMIT ?)");
+        deleteInChunks(job, null, "DELETE FROM expense_daily_rollup WHERE (user_id, category_id, day) IN " +
+                "(SELECT user_id, category_id, day FROM expense_daily_rollup LIMIT ?)");
+        deleteInChunks(job, null, "DELETE FROM expense_monthly_summary WHERE (user_id, category_id, month) IN " +
+                "(SELECT user_id, category_id, month FROM expense_monthly_summary LIMIT ?)");
+        jdbcTemplate.update("DELETE FROM expense_archive_state");
+        deleteInChunks(job, job.budgetsDeleted, "DELETE FROM budgets WHERE id IN (SELECT id FROM budgets LIMIT ?)");
+    }
+
+    private void purgeUser(PurgeJob job) {
+        Integer userId = job.userId;
+        deleteInChunks(job, job.expensesDeleted,
+                "DELETE FROM expenses WHERE id IN (SELECT id FROM expenses WHERE user_id = ? LIMIT ?)", userId);
+        deleteInChunks(job, job.expensesDeleted,
+                "DELETE FROM expenses_archive WHERE id IN (SELECT id FROM expenses_archive WHERE user_id = ? LIMIT ?)", userId);
+        deleteInChunks(job, null, "DELETE FROM expense_daily_rollup WHERE (user_id, category_id, day) IN " +
+                "(SELECT user_id, category_id, day FROM expense_daily_rollup WHERE user_id = ? LIMIT ?)", userId);
+        deleteInChunks(job, null, "DELETE FROM expense_monthly_summary WHERE (user_id, category_id, month) IN " +
+                "(SELECT user_id, category_id, month FROM expense_monthly_summary WHERE user_id = ? LIMIT ?)", userId);
+        deleteInChunks(job, job.budgetsDeleted,
+                "DELETE FROM budgets WHERE id IN (SELECT id FROM budgets WHERE user_id = ? LIMIT ?)", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    /**
+     * Ostatni parametr zapytania to rozmiar paczki; pętla kończy się, gdy paczka nic nie usunie.
+     * counter może być null dla tabel sum, które nie są raportowane w zadaniu. Przerwanie wątku (zamknięcie aplikacji)
+     * kończy zadanie błędem, żeby częściowe usunięcie nie zostało zgłoszone jako zakończone.
+     */
+    private void deleteInChunks(PurgeJob job, AtomicLong counter, String sql, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        System.arraycopy(args, 0, params, 0, args.length);
+        params[args.length] = chunkSize;
+
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RuntimeException("Purge job interrupted");
+            }
+            Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(sql, params));
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            if (counter != null) {
+                counter.addAndGet(deleted);
+            }
+            job.chunks.incrementAndGet();
+            log.debug("Purge job {}: {} expenses, {} budgets deleted", job.id, job.expensesDeleted, job.budgetsDeleted);
+        }
+    }
+
+    private PurgeJobDto submit(PurgeJob job, Consumer<PurgeJob> work) {
+        pruneFinishedJobs();
+        jobs.put(job.id, job);
+        executor.execute(() -> {
+            job.status = STATUS_RUNNING;
+            try {
+                work.accept(job);
+                job.status = STATUS_COMPLETED;
+                log.info("Purge job {} ({}) completed: {} expenses, {} budgets in {} chunks",
+                        job.id, job.type, job.expensesDeleted, job.budgetsDeleted, job.chunks);
+            } catch (RuntimeException e) {
+                job.error = e.getMessage();
+                job.status = STATUS_FAILED;
+                log.error("Purge job {} ({}) failed", job.id, job.type, e);
+            } finally {
+                job.finishedAt = LocalDateTime.now();
+            }
+        });
+        return job.toDto();
+    }
+
+    private void pruneFinishedJobs() {
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing((PurgeJob job) -> job.finishedAt).reversed())
+                .skip(MAX_FINISHED_JOBS)
+                .forEach(job -> jobs.remove(job.id));
+    }
+
+    private static final class PurgeJob {
+        private final String id = UUID.randomUUID().toString();
+        private final String type;
+        private final Integer userId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong expensesDeleted = new AtomicLong();
+        private final AtomicLong budgetsDeleted = new AtomicLong();
+        private final AtomicLong chunks = new AtomicLong();
+        private volatile String status = STATUS_PENDING;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private PurgeJob(String type, Integer userId) {
+            this.type = type;
+            this.userId = userId;
+        }
+
+        private PurgeJobDto toDto() {
+            PurgeJobDto dto = new PurgeJobDto();
+            dto.setId(id);
+            dto.setType(type);
+            dto.setUserId(userId);
+            dto.setStatus(status);
+            dto.setExpensesDeleted(expensesDeleted.get());
+            dto.setBudgetsDeleted(budgetsDeleted.get());
+            dto.setChunks(chunks.get());
+            dto.setError(error);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Dane przykładowe dla /api/init. Każdy etap to jedna instrukcja SQL (PostgreSQL) z ON CONFLICT DO NOTHING
+ * zamiast sprawdzania i zapisu wiersz po wierszu, więc etapy są idempotentne i bezpieczne przy równoległych wywołaniach.
+ * Parametr {@code scale} powiela wydatki i budżety po stronie bazy (generate_series) – bez przesyłania wierszy przez sieć.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class DataSeedService {
+
+    public static final String SAMPLE_USERNAME = "testuser";
+
+    private static final int EXPENSE_ID_ALLOCATION = 50;
+    // Kopie wydatków są przesuwane wstecz o kolejne dni, w oknie dwóch lat
+    private static final int EXPENSE_SPREAD_DAYS = 730;
+
+    private static final String[][] SAMPLE_USERS = {
+            {"admin", "admin@trackexpenses.com", "admin123", Role.ADMIN.name()},
+            {"testuser", "user@trackexpenses.com", "user123", Role.USER.name()},
+            {"demo", "demo@trackexpenses.com", "demo123", Role.USER.name()}
+    };
+
+    private static final String INSERT_CATEGORIES_SQL =
+            "INSERT INTO categories (name, description, color_code, is_default) VALUES " +
+            "('Food', 'Meals, groceries, dining out', '#28a745', TRUE), " +
+            "('Transportation', 'Gas, public transport, car maintenance', '#007bff', TRUE), " +
+            "('Entertainment', 'Movies, games, hobbies', '#ffc107', TRUE), " +
+            "('Healthcare', 'Medical expenses, pharmacy', '#dc3545', TRUE), " +
+            "('Shopping', 'Clothes, electronics, misc items', '#6f42c1', TRUE), " +
+            "('Bills', 'Utilities, rent, subscriptions', '#fd7e14', TRUE), " +
+            "('Education', 'Books, courses, training', '#17a2b8', TRUE), " +
+            "('Travel', 'Vacation, trips, accommodation', '#6610f2', TRUE) " +
+            "ON CONFLICT (name) DO NOTHING";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, email, password, role, is_active, created_at) " +
+            "VALUES (?, ?, ?, ?, TRUE, NOW()) ON CONFLICT DO NOTHING";
+
+    /**
+     * Identyfikatory wydatków są rezerwowane z expenses_id_seq blokami po 50, tak jak robi to Hibernate
+     * (pooled optimizer). Pierwsza wartość nowej sekwencji (1) nie wyznacza pełnego bloku, dlatego jest pomijana,
+     * a bloków rezerwuje się o jeden więcej. Dzienny rollup jest aktualizowany w tej samej instrukcji.
+     */
+    private static final String INSERT_EXPENSES_SQL =
+            "WITH sample (description, amount, days_ago, category_name) AS (VALUES " +
+            "('Grocery shopping', 45.50, 2, 'Food'), " +
+            "('Bus ticket', 12.00, 1, 'Transportation'), " +
+            "('Movie ticket', 25.00, 3, 'Entertainment'), " +
+            "('Electricity bill', 150.00, 5, 'Bills'), " +
+            "('Restaurant dinner', 35.75, 1, 'Food'), " +
+            "('Gas station', 60.00, 4, 'Transportation'), " +
+            "('Coffee', 8.50, 0, 'Food'), " +
+            "('Internet bill', 120.00, 10, 'Bills'), " +
+            "('Monthly groceries', 200.00, 45, 'Food'), " +
+            "('Gas', 80.00, 40, 'Transportation'), " +
+            "('Cinema', 40.00, 35, 'Entertainment'), " +
+            "('Lunch', 75.00, 50, 'Food'), " +
+            "('Big shopping', 300.00, 72, 'Food'), " +
+            "('Transport pass', 90.00, 68, 'Transportation')), " +
+            "expense_rows AS (" +
+            "  SELECT row_number() OVER () - 1 AS n, s.description, s.amount, " +
+            "         s.days_ago + g.copy % " + EXPENSE_SPREAD_DAYS + " AS days_ago, c.id AS category_id " +
+            "  FROM generate_series(0, ? - 1) AS g(copy) CROSS JOIN sample s " +
+            "  JOIN categories c ON c.name = s.category_name), " +
+            "reserved AS MATERIALIZED (" +
+            "  SELECT nextval('expenses_id_seq') AS hi FROM generate_series(0, (SELECT COUNT(*) FROM expense_rows) / " +
+            EXPENSE_ID_ALLOCATION + " + 1)), " +
+            "id_blocks AS (" +
+            "  SELECT row_number() OVER (ORDER BY hi) - 1 AS block, hi FROM reserved WHERE hi >= " + EXPENSE_ID_ALLOCATION + "), " +
+            "inserted AS (" +
+            "  INSERT INTO expenses (id, amount, description, date, category_id, user_id, created_at) " +
+            "  SELECT b.hi - " + (EXPENSE_ID_ALLOCATION - 1) + " + r.n % " + EXPENSE_ID_ALLOCATION + ", r.amount, r.description, " +
+            "         CURRENT_DATE - r.days_ago::int, r.category_id, ?, NOW() " +
+            "  FROM expense_rows r JOIN id_blocks b ON b.block = r.n / " + EXPENSE_ID_ALLOCATION + " " +
+            "  RETURNING user_id, category_id, date, amount), " +
+            "rollup AS (" +
+            "  INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count) " +
+            "  SELECT user_id, category_id, date, SUM(amount), COUNT(*) FROM inserted GROUP BY user_id, category_id, date " +
+            "  ON CONFLICT (user_id, category_id, day) DO UPDATE SET " +
+            "  total_amount = expense_daily_rollup.total_amount + EXCLUDED.total_amount, " +
+            "  expense_count = expense_daily_rollup.expense_count + EXCLUDED.expense_count) " +
+            "SELECT COUNT(*) FROM inserted";
+
+    /**
+     * Budżety bieżącego i następnego miesiąca; każda kolejna kopia cofa się o jeden miesiąc.
+     * Powtórzenia (ten sam użytkownik, kategoria i miesiąc) pomija ograniczenie uq_budgets_user_category_period,
+     * a kolejność wstawiania sprawia, że zostaje kwota z nowszej kopii.
+     */
+    private static final String INSERT_BUDGETS_SQL =
+            "INSERT INTO budgets (amount, category_id, user_id, month, year, created_at) " +
+            "SELECT s.amount, c.id, ?, EXTRACT(MONTH FROM m.month_start)::int, EXTRACT(YEAR FROM m.month_start)::int, NOW() " +
+            "FROM (VALUES ('Food', 500.00, 0), ('Transportation', 200.00, 0), ('Entertainment', 100.00, 0), " +
+            "('Bills', 300.00, 0), ('Food', 600.00, 1), ('Transportation', 250.00, 1)) AS s(category_name, amount, month_offset) " +
+            "CROSS JOIN generate_series(0, ? - 1) AS g(copy) " +
+            "JOIN categories c ON c.name = s.category_name " +
+            "CROSS JOIN LATERAL (SELECT date_trunc('month', CURRENT_DATE) + make_interval(months => s.month_offset - g.copy) " +
+            "AS month_start) m " +
+            "ORDER BY g.copy, s.month_offset DESC " +
+            "ON CONFLICT (user_id, category_id, year, month) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CategoryCache categoryCache;
+
+    public int seedCategories() {
+        int created = jdbcTemplate.update(INSERT_CATEGORIES_SQL);
+        if (created > 0) {
+            categoryCache.invalidate();
+        }
+        return created;
+    }
+
+    /**
+     * Hasła są kodowane tylko dla użytkowników, których jeszcze nie ma – BCrypt jest najdroższą częścią etapu.
+     * O tym, czy wiersz powstanie, decyduje ON CONFLICT, więc równoległe wywołanie nie utworzy duplikatu.
+     */
+    public int seedUsers() {
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT username FROM users WHERE username IN (?, ?, ?)", String.class,
+                Arrays.stream(SAMPLE_USERS).map(user -> user[0]).toArray()));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (String[] user : SAMPLE_USERS) {
+            if (!existing.contains(user[0])) {
+                rows.add(new Object[]{user[0], user[1], passwordEncoder.encode(user[2]), user[3]});
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        int created = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows)) {
+            created += Math.max(count, 0);
+        }
+        return created;
+    }
+
+    public long seedExpenses(Integer userId, int scale) {
+        long created = jdbcTemplate.queryForObject(INSERT_EXPENSES_SQL, Long.class, scale, userId);
+        log.info("Seeded {} sample expenses (scale {})", created, scale);
+        return created;
+    }
+
+    public int seedBudgets(Integer userId, int scale) {
+        int created = jdbcTemplate.update(INSERT_BUDGETS_SQL, userId, scale);
+        log.info("Seeded {} sample budgets (scale {})", created, scale);
+        return created;
+    }
+}
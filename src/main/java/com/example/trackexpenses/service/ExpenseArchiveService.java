@@ -0,0 +1,241 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.ExpenseArchiveStateRepository;
+import com.example.trackexpenses.repository.ExpenseMonthlySummaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archiwum wydatków starszych niż {@code app.archive.horizon-months}. Codzienny przebieg przenosi całe miesiące
+ * do expenses_archive (funkcja archive_expenses_month z V7, tylko PostgreSQL) i zostawia po nich sumy
+ * w expense_monthly_summary. Wszystkie zarchiwizowane daty są wcześniejsze niż {@link #getArchivedBefore()},
+ * więc czytający sięgają do archiwum tylko wtedy, gdy zakres zaczyna się przed tą datą. Granica jest czytana
+ * z expense_archive_state raz na operację i przekazywana do metod sumujących – przebieg archiwizacji
+ * na innej instancji jest widoczny od następnej operacji, bez dodatkowych odczytów stanu przy każdej sumie.
+ * Sumy z archiwum liczone są z podsumowań dla pełnych miesięcy, a z expenses_archive tylko dla niepełnych.
+ */
+@Service
+@Slf4j
+public class ExpenseArchiveService {
+
+    // Dolna granica zakresów bez daty początkowej
+    private static final LocalDate UNBOUNDED_START = LocalDate.of(1900, 1, 1);
+
+    private final ArchivedExpenseRepository archivedExpenseRepository;
+    private final ExpenseMonthlySummaryRepository summaryRepository;
+    private final ExpenseArchiveStateRepository stateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.horizon-months:24}")
+    private int horizonMonths;
+
+    @Autowired
+    public ExpenseArchiveService(ArchivedExpenseRepository archivedExpenseRepository,
+                                 ExpenseMonthlySummaryRepository summaryRepository,
+                                 ExpenseArchiveStateRepository stateRepository,
+                                 JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(archivedExpenseRepository, summaryRepository, stateRepository, jdbcTemplate,
+                new TransactionTemplate(transactionManager), Clock.systemDefaultZone());
+    }
+
+    ExpenseArchiveService(ArchivedExpenseRepository archivedExpenseRepository,
+                          ExpenseMonthlySummaryRepository summaryRepository,
+                          ExpenseArchiveStateRepository stateRepository, JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate, Clock clock) {
+        this.archivedExpenseRepository = archivedExpenseRepository;
+        this.summaryRepository = summaryRepository;
+        this.stateRepository = stateRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Pierwszy dzień po ostatnim zarchiwizowanym miesiącu; null, gdy archiwum jest puste.
+     */
+    public LocalDate getArchivedBefore() {
+        return stateRepository.findArchivedBefore();
+    }
+
+    /**
+     * Czy zakres zaczynający się w startDate (null - bez dolnej granicy) może obejmować zarchiwizowane wydatki,
+     * przy granicy odczytanej wcześniej z {@link #getArchivedBefore()}.
+     */
+    public static boolean reaches(LocalDate boundary, LocalDate startDate) {
+        return boundary != null && (startDate == null || startDate.isBefore(boundary));
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 3 * * *}")
+    public void archiveScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveExpiredMonths();
+        } catch (DataAccessException e) {
+            log.error("Expense archiving failed", e);
+        }
+    }
+
+    /**
+     * Każdy miesiąc jest przenoszony w osobnej transakcji, żeby blokady dotyczyły tylko jednej partycji naraz.
+     */
+    public int archiveExpiredMonths() {
+        LocalDate cutoff = YearMonth.now(clock).minusMonths(horizonMonths).atDay(1);
+        List<LocalDate> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', date) AS DATE) FROM expenses WHERE date < ? ORDER BY 1",
+                LocalDate.class, cutoff);
+
+        int archived = 0;
+        for (LocalDate month : months) {
+            Integer moved = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT archive_expenses_month(?)", Integer.class, month));
+            log.info("Archived {} expenses from {}", moved, YearMonth.from(month));
+            archived += moved != null ? moved : 0;
+        }
+        return archived;
+    }
+
+    public BigDecimal sumAmount(Integer userId, LocalDate boundary, LocalDate startDate, LocalDate endDate) {
+        ArchivedRange range = archivedRange(boundary, startDate, endDate);
+        if (range == null) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        if (range.hasFullMonths()) {
+            total = add(total, summaryRepository.sumAmountByUserIdAndMonthBetween(userId, range.fromMonth(), range.toMonth()));
+        }
+        for (DateRange partial : range.partialMonths()) {
+            total = add(total, archivedExpenseRepository.sumAmountByUserIdAndDateBetween(userId, partial.start(), partial.end()));
+        }
+        return total;
+    }
+
+    public long countExpenses(Integer userId, LocalDate boundary, LocalDate startDate, LocalDate endDate) {
+        ArchivedRange range = archivedRange(boundary, startDate, endDate);
+        if (range == null) {
+            return 0;
+        }
+
+        long count = 0;
+        if (range.hasFullMonths()) {
+            Long summarised = summaryRepository.countByUserIdAndMonthBetween(userId, range.fromMonth(), range.toMonth());
+            count += summarised != null ? summarised : 0;
+        }
+        for (DateRange partial : range.partialMonths()) {
+            count += archivedExpenseRepository.countByUserIdAndDateBetween(userId, partial.start(), partial.end());
+        }
+        return count;
+    }
+
+    /**
+     * Wiersze [rok, miesiąc, suma] jak w ExpenseRepository.sumAmountByUserGroupedByMonth.
+     */
+    public List<Object[]> sumAmountGroupedByMonth(Integer userId, LocalDate boundary, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> results = new ArrayList<>();
+        ArchivedRange range = archivedRange(boundary, startDate, endDate);
+        if (range == null) {
+            return results;
+        }
+
+        if (range.hasFullMonths()) {
+            results.addAll(summaryRepository.sumAmountByUserIdGroupedByMonth(userId, range.fromMonth(), range.toMonth()));
+        }
+        for (DateRange partial : range.partialMonths()) {
+            results.addAll(archivedExpenseRepository.sumAmountByUserIdGroupedByMonth(userId, partial.start(), partial.end()));
+        }
+        return results;
+    }
+
+    /**
+     * Wiersze [Category, suma]; ta sama kategoria może wystąpić kilka razy (podsumowania i niepełne miesiące).
+     */
+    public List<Object[]> sumAmountByCategory(Integer userId, LocalDate boundary, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> results = new ArrayList<>();
+        ArchivedRange range = archivedRange(boundary, startDate, endDate);
+        if (range == null) {
+            return results;
+        }
+
+        if (range.hasFullMonths()) {
+            results.addAll(summaryRepository.findExpensesSumByCategory(userId, range.fromMonth(), range.toMonth()));
+        }
+        for (DateRange partial : range.partialMonths()) {
+            results.addAll(archivedExpenseRepository.findExpensesSumByCategory(userId, partial.start(), partial.end()));
+        }
+        return results;
+    }
+
+    /**
+     * Część zakresu [startDate, endDate] przypadająca na archiwum, podzielona na pełne miesiące
+     * (czytane z podsumowań) i co najwyżej dwa niepełne miesiące na brzegach (czytane z expenses_archive).
+     */
+    static ArchivedRange archivedRange(LocalDate boundary, LocalDate startDate, LocalDate endDate) {
+        if (boundary == null) {
+            return null;
+        }
+        LocalDate start = startDate != null ? startDate : UNBOUNDED_START;
+        LocalDate end = endDate != null && endDate.isBefore(boundary) ? endDate : boundary.minusDays(1);
+        if (start.isAfter(end)) {
+            return null;
+        }
+
+        YearMonth firstMonth = YearMonth.from(start);
+        YearMonth lastMonth = YearMonth.from(end);
+        boolean firstPartial = start.getDayOfMonth() != 1;
+        boolean lastPartial = !end.equals(lastMonth.atEndOfMonth());
+
+        List<DateRange> partialMonths = new ArrayList<>();
+        if (firstMonth.equals(lastMonth) && (firstPartial || lastPartial)) {
+            partialMonths.add(new DateRange(start, end));
+            return new ArchivedRange(null, null, partialMonths);
+        }
+
+        YearMonth fromMonth = firstPartial ? firstMonth.plusMonths(1) : firstMonth;
+        YearMonth toMonth = lastPartial ? lastMonth.minusMonths(1) : lastMonth;
+        if (firstPartial) {
+            partialMonths.add(new DateRange(start, firstMonth.atEndOfMonth()));
+        }
+        if (lastPartial) {
+            partialMonths.add(new DateRange(lastMonth.atDay(1), end));
+        }
+        return fromMonth.isAfter(toMonth)
+                ? new ArchivedRange(null, null, partialMonths)
+                : new ArchivedRange(fromMonth.atDay(1), toMonth.atDay(1), partialMonths);
+    }
+
+    private static BigDecimal add(BigDecimal total, BigDecimal amount) {
+        return amount != null ? total.add(amount) : total;
+    }
+
+    record DateRange(LocalDate start, LocalDate end) {
+    }
+
+    record ArchivedRange(LocalDate fromMonth, LocalDate toMonth, List<DateRange> partialMonths) {
+
+        boolean hasFullMonths() {
+            return fromMonth != null;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Eksport wydatków użytkownika do CSV lub NDJSON.
+ * Wiersze są czytane kursorem JDBC (forward-only, ograniczony fetch size) i od razu zapisywane
+ * do strumienia odpowiedzi, więc zużycie pamięci nie zależy od liczby wydatków.
+ * Gdy zakres sięga przed granicę archiwum, wydatki z expenses_archive dochodzą przez UNION ALL.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportService {
+
+    private static final String CSV_HEADER = "id,date,amount,description,categoryId,category,createdAt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ExpenseArchiveService expenseArchiveService;
+
+    @Value("${app.expenses.export.fetch-size:500}")
+    private int fetchSize;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            if (value == null) {
+                return CSV;
+            }
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    /**
+     * Użytkownik jest ustalany przed zwróceniem strumienia – sam zapis odbywa się
+     * w wątku asynchronicznym, bez dostępu do kontekstu bezpieczeństwa.
+     */
+    public StreamingResponseBody exportCurrentUserExpenses(Format format, LocalDate from, LocalDate to) {
+        User currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("User not authenticated");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        Integer userId = currentUser.getId();
+        return outputStream -> writeExpenses(userId, format, from, to, outputStream);
+    }
+
+    void writeExpenses(Integer userId, Format format, LocalDate from, LocalDate to, OutputStream outputStream)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        appendSelect(sql, params, "expenses", userId, from, to);
+        if (ExpenseArchiveService.reaches(expenseArchiveService.getArchivedBefore(), from)) {
+            sql.append(" UNION ALL ");
+            appendSelect(sql, params, "expenses_archive", userId, from, to);
+        }
+        // Pozycyjnie, bo kolumny id z wydatku i kategorii mają tę samą nazwę w wyniku UNION
+        sql.append(" ORDER BY 2 DESC, 1 DESC");
+
+        try {
+            rowWriter.start();
+            // PostgreSQL używa kursora (fetch size) tylko przy wyłączonym autocommit, stąd transakcja
+            transactionTemplate.execute(status -> {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    for (int i = 0; i < params.size(); i++) {
+                        statement.setObject(i + 1, params.get(i));
+                    }
+                    return statement;
+                }, (RowCallbackHandler) rs -> {
+                    try {
+                        rowWriter.write(rs);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return null;
+            });
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void appendSelect(StringBuilder sql, List<Object> params, String table,
+                                     Integer userId, LocalDate from, LocalDate to) {
+        sql.append("SELECT e.id, e.date, e.amount, e.description, c.id, c.name, e.created_at FROM ").append(table)
+                .append(" e JOIN categories c ON c.id = e.category_id WHERE e.user_id = ?");
+        params.add(userId);
+        if (from != null) {
+            sql.append(" AND e.date >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND e.date <= ?");
+            params.add(to);
+        }
+    }
+
+    private interface RowWriter {
+        void start() throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(String.valueOf(rs.getInt(1)));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getObject(2, LocalDate.class)));
+            writer.write(',');
+            writer.write(rs.getBigDecimal(3).toPlainString());
+            writer.write(',');
+            writer.write(escape(rs.getString(4)));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getInt(5)));
+            writer.write(',');
+            writer.write(escape(rs.getString(6)));
+            writer.write(',');
+            writer.write(String.valueOf(rs.getObject(7, LocalDateTime.class)));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            BigDecimal amount = rs.getBigDecimal(3);
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getInt(1));
+            generator.writeStringField("date", String.valueOf(rs.getObject(2, LocalDate.class)));
+            generator.writeNumberField("amount", amount);
+            generator.writeStringField("description", rs.getString(4));
+            generator.writeNumberField("categoryId", rs.getInt(5));
+            generator.writeStringField("category", rs.getString(6));
+            generator.writeStringField("createdAt", String.valueOf(rs.getObject(7, LocalDateTime.class)));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.BulkImportErrorDto;
+import com.example.trackexpenses.dto.BulkImportResultDto;
+import com.example.trackexpenses.dto.ExpenseCreateDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Import wielu wydatków naraz (tablica JSON lub NDJSON).
+ * Wiersze są czytane strumieniowo i zapisywane paczkami – każda paczka we własnej transakcji,
+ * więc błąd jednego wiersza lub paczki nie przerywa całego importu. Nieudana paczka jest powtarzana
+ * wiersz po wierszu, dzięki czemu błąd dostają tylko wiersze odrzucone przez bazę. Po każdej paczce kontekst utrwalania
+ * jest czyszczony – przy open-in-view żyje przez całe żądanie i bez tego trzymałby wszystkie zapisane wydatki.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseImportService {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    private final ExpenseRepository expenseRepository;
+    private final UserService userService;
+    private final CategoryService categoryService;
+    private final ExpenseRollupService expenseRollupService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${app.expenses.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.expenses.import.max-errors:1000}")
+    private int maxErrors;
+
+    public BulkImportResultDto importExpenses(InputStream input) {
+        User currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            throw new RuntimeException("User not authenticated");
+        }
+
+        Map<Integer, Category> categories = categoryService.findCategoryMap();
+        BulkImportResultDto result = new BulkImportResultDto();
+        List<Expense> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        long row = 0;
+
+        try (MappingIterator<ExpenseCreateDto> rows = objectMapper.readerFor(ExpenseCreateDto.class).readValues(input)) {
+            while (true) {
+                long current = row + 1;
+                ExpenseCreateDto dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    dto = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Uszkodzony strumień – dalszych wierszy nie da się wiarygodnie odczytać
+                    row = current;
+                    addError(result, row, "Malformed input: " + e.getOriginalMessage());
+                    result.setCompleted(false);
+                    break;
+                } catch (JsonMappingException e) {
+                    row = current;
+                    addError(result, row, "Invalid row: " + e.getOriginalMessage());
+                    continue;
+                }
+                row = current;
+
+                String error = validate(dto, categories);
+                if (error != null) {
+                    addError(result, row, error);
+                    continue;
+                }
+
+                batch.add(toEntity(dto, categories.get(dto.getCategoryId()), currentUser));
+                batchRows.add(row);
+                if (batch.size() >= batchSize) {
+                    saveBatch(batch, batchRows, result);
+                }
+            }
+        } catch (IOException e) {
+            addError(result, row + 1, "Could not read input: " + e.getMessage());
+            result.setCompleted(false);
+        }
+
+        saveBatch(batch, batchRows, result);
+        result.setReceived(row);
+        return result;
+    }
+
+    private void saveBatch(List<Expense> batch, List<Long> batchRows, BulkImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(batch);
+            result.setImported(result.getImported() + batch.size());
+        } catch (RuntimeException e) {
+            // Paczka została wycofana w całości – powtarzamy ją wiersz po wierszu, żeby zgłosić tylko błędne wiersze
+            for (int i = 0; i < batch.size(); i++) {
+                Expense expense = batch.get(i);
+                // Id z sekwencji nadane przy wycofanej próbie – bez wyzerowania zapis potraktowałby wiersz jak istniejący
+                expense.setId(null);
+                try {
+                    insert(List.of(expense));
+                    result.setImported(result.getImported() + 1);
+                } catch (RuntimeException rowError) {
+                    addError(result, batchRows.get(i), "Insert failed: " + rowError.getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void insert(List<Expense> expenses) {
+        transactionTemplate.execute(status -> {
+            List<Expense> saved = expenseRepository.saveAll(expenses);
+            expenseRollupService.recordCreated(saved);
+            entityManager.flush();
+            entityManager.clear();
+            return saved;
+        });
+    }
+
+    private String validate(ExpenseCreateDto dto, Map<Integer, Category> categories) {
+        if (dto == null) {
+            return "Row is empty";
+        }
+        if (dto.getAmount() == null || dto.getAmount().signum() <= 0) {
+            return "Amount must be greater than zero";
+        }
+        if (dto.getAmount().scale() > 2 || dto.getAmount().compareTo(MAX_AMOUNT) > 0) {
+            return "Amount must fit DECIMAL(10, 2)";
+        }
+        if (dto.getDescription() == null || dto.getDescription().isBlank()) {
+            return "Description is required";
+        }
+        if (dto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            return "Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (dto.getDate() == null) {
+            return "Date is required";
+        }
+        if (dto.getCategoryId() == null || !categories.containsKey(dto.getCategoryId())) {
+            return "Category not found";
+        }
+        return null;
+    }
+
+    private Expense toEntity(ExpenseCreateDto dto, Category category, User user) {
+        Expense expense = new Expense();
+        expense.setAmount(dto.getAmount());
+        expense.setDescription(dto.getDescription());
+        expense.setDate(dto.getDate());
+        expense.setCategory(category);
+        expense.setUser(user);
+        expense.setCreatedAt(LocalDateTime.now());
+        return expense;
+    }
+
+    private void addError(BulkImportResultDto result, long row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new BulkImportErrorDto(row, message));
+        }
+    }
+}
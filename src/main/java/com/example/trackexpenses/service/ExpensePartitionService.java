@@ -0,0 +1,137 @@
+package com.example.trackexpenses.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utrzymanie miesięcznych partycji tabeli expenses (migracja V6): przy starcie aplikacji i codziennie
+ * tworzy partycje na {@code app.partitions.months-ahead} miesięcy do przodu, rozdziela wiersze z partycji
+ * domyślnej na partycje miesięczne i – jeśli ustawiono {@code app.partitions.retention-months} – odłącza
+ * partycje starsze niż horyzont. Odłączona partycja zostaje w bazie jako zwykła tabela (do archiwizacji
+ * lub usunięcia), a jej dni znikają z expense_daily_rollup, żeby raporty zgadzały się z wydatkami.
+ * Tylko PostgreSQL – DDL wykonują funkcje z migracji V6.
+ */
+@Service
+@ConditionalOnProperty(name = "app.partitions.maintenance-enabled", havingValue = "true")
+@Slf4j
+public class ExpensePartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("expenses_y(\\d{4})m(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 - partycje nie są odłączane
+    @Value("${app.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @Autowired
+    public ExpensePartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), Clock.systemDefaultZone());
+    }
+
+    ExpensePartitionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        try {
+            int created = createFuturePartitions();
+            int split = splitDefaultPartition();
+            int detached = detachExpiredPartitions();
+            log.info("Expense partition maintenance: {} future partitions created, {} split from default, {} detached",
+                    created, split, detached);
+        } catch (DataAccessException e) {
+            log.error("Expense partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Każda partycja powstaje w osobnej transakcji, żeby blokada tabeli nadrzędnej trwała jak najkrócej.
+     */
+    public int createFuturePartitions() {
+        YearMonth current = YearMonth.now(clock);
+        int created = 0;
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            Boolean result = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                    "SELECT create_expenses_partition(?)", Boolean.class, monthStart));
+            if (Boolean.TRUE.equals(result)) {
+                log.info("Created expense partition for {}", monthStart);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    public int splitDefaultPartition() {
+        Integer split = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT split_expenses_default_partition()", Integer.class));
+        return split == null ? 0 : split;
+    }
+
+    public int detachExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+        YearMonth horizon = YearMonth.now(clock).minusMonths(retentionMonths);
+        int detached = 0;
+        for (String partition : findMonthlyPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month.isBefore(horizon)) {
+                detachPartition(partition, month);
+                detached++;
+            }
+        }
+        return detached;
+    }
+
+    public List<String> findMonthlyPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'expenses'::regclass AND c.relname ~ '^expenses_y[0-9]{4}m[0-9]{2}$' " +
+                "ORDER BY c.relname", String.class);
+    }
+
+    private void detachPartition(String partition, YearMonth month) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE expenses DETACH PARTITION " + partition);
+            jdbcTemplate.update("DELETE FROM expense_daily_rollup WHERE day >= ? AND day < ?",
+                    month.atDay(1), month.plusMonths(1).atDay(1));
+        });
+        log.info("Detached expense partition {}", partition);
+    }
+
+    static YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a monthly expense partition: " + partition);
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
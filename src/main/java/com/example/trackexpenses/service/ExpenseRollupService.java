@@ -0,0 +1,75 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.ExpenseDailyRollupId;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utrzymuje tabelę expense_daily_rollup (dzienne sumy per użytkownik i kategoria).
+ * Metody dołączają do transakcji zapisu wydatku, więc rollup zmienia się razem z wydatkami.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class ExpenseRollupService {
+
+    private final ExpenseDailyRollupRepository rollupRepository;
+
+    public void recordCreated(Expense expense) {
+        applyDelta(expense.getUser().getId(), expense.getCategory().getId(), expense.getDate(), expense.getAmount(), 1);
+    }
+
+    public void recordDeleted(Expense expense) {
+        applyDelta(expense.getUser().getId(), expense.getCategory().getId(), expense.getDate(), expense.getAmount().negate(), -1);
+    }
+
+    public void recordCreated(List<Expense> expenses) {
+        Map<ExpenseDailyRollupId, BigDecimal> amounts = new LinkedHashMap<>();
+        Map<ExpenseDailyRollupId, Integer> counts = new LinkedHashMap<>();
+        for (Expense expense : expenses) {
+            ExpenseDailyRollupId key = new ExpenseDailyRollupId(
+                    expense.getUser().getId(), expense.getCategory().getId(), expense.getDate());
+            amounts.merge(key, expense.getAmount(), BigDecimal::add);
+            counts.merge(key, 1, Integer::sum);
+        }
+
+        for (Map.Entry<ExpenseDailyRollupId, BigDecimal> entry : amounts.entrySet()) {
+            ExpenseDailyRollupId key = entry.getKey();
+            applyDelta(key.getUserId(), key.getCategoryId(), key.getDay(), entry.getValue(), counts.get(key));
+        }
+    }
+
+    public void applyDelta(Integer userId, Integer categoryId, LocalDate day, BigDecimal amount, int count) {
+        rollupRepository.applyDelta(userId, categoryId, day, amount, count);
+        if (count < 0) {
+            rollupRepository.deleteIfEmpty(userId, categoryId, day);
+        }
+    }
+
+    /**
+     * Przelicza cały rollup od zera jednym zapytaniem agregującym.
+     * Zapisy wydatków są na ten czas blokowane, żeby żadna zmiana nie umknęła.
+     */
+    public int rebuild() {
+        rollupRepository.lockExpensesForRebuild();
+        rollupRepository.deleteAllRows();
+        int rows = rollupRepository.insertFromExpenses();
+        log.info("Expense daily rollup rebuilt: {} rows", rows);
+        return rows;
+    }
+
+    public void clear() {
+        rollupRepository.deleteAllRows();
+    }
+}
@@ -3,34 +3,64 @@ package com.example.trackexpenses.service;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.dto.ExpenseCreateDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.ExpensePageDto;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.entity.Expense;
 import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Odczyty obejmują też archiwum (ExpenseArchiveService), ale tylko gdy zakres dat zaczyna się przed
+ * najstarszą niezarchiwizowaną datą - typowe zapytania o ostatnie miesiące czytają wyłącznie tabelę expenses.
+ * Zarchiwizowane wydatki są tylko do odczytu.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class ExpenseService {
 
+    private static final Comparator<ExpenseDto> NEWEST_FIRST =
+            Comparator.comparing(ExpenseDto::getDate).thenComparing(ExpenseDto::getId).reversed();
+
     private final ExpenseRepository expenseRepository;
     private final UserService userService;
     private final CategoryService categoryService;
+    private final ExpenseRollupService expenseRollupService;
+    private final ExpenseDailyRollupRepository rollupRepository;
+    private final ExpenseArchiveService expenseArchiveService;
+    private final ArchivedExpenseRepository archivedExpenseRepository;
+
+    @Value("${app.reports.use-rollup:false}")
+    private boolean useRollup;
+
+    @Value("${app.expenses.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.expenses.max-page-size:500}")
+    private int maxPageSize;
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> findAllExpenses() {
-        return expenseRepository.findAll().stream()
+        List<ExpenseDto> expenses = expenseRepository.findAll().stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
+        return withArchived(expenses, null, archivedExpenseRepository::findAllDtos);
     }
 
     @Transactional(readOnly = true)
@@ -40,16 +70,61 @@ public class ExpenseService {
             return new ArrayList<>();
         }
 
-        return expenseRepository.findByUser(currentUser).stream()
-                .map(this::convertToDto)
-                .sorted((e1, e2) -> e2.getDate().compareTo(e1.getDate()))
-                .collect(Collectors.toList());
+        return withArchived(expenseRepository.findDtosByUserId(currentUser.getId()), null,
+                () -> archivedExpenseRepository.findDtosByUserId(currentUser.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ExpensePageDto findExpensePageByCurrentUser(String after, Integer size) {
+        ExpenseCursor cursor = after != null && !after.isBlank() ? ExpenseCursor.decode(after) : null;
+        int pageSize = resolvePageSize(size);
+
+        ExpensePageDto page = new ExpensePageDto();
+        page.setItems(new ArrayList<>());
+        page.setHasMore(false);
+
+        User currentUser = userService.getCurrentUser();
+        if (currentUser == null) {
+            return page;
+        }
+
+        // Pobieramy o jeden wiersz więcej, żeby wiedzieć, czy istnieje następna strona
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ExpenseDto> rows = cursor == null
+                ? expenseRepository.findDtoPageByUserId(currentUser.getId(), limit)
+                : expenseRepository.findDtoPageByUserIdAfterCursor(currentUser.getId(), cursor.date(), cursor.id(), limit);
+
+        // Archiwum jest potrzebne tylko, gdy strona się nie zapełniła albo sięga dat sprzed granicy archiwum
+        LocalDate oldestOnPage = rows.size() > pageSize ? rows.get(rows.size() - 1).getDate() : null;
+        if (ExpenseArchiveService.reaches(expenseArchiveService.getArchivedBefore(), oldestOnPage)) {
+            List<ExpenseDto> merged = new ArrayList<>(rows);
+            merged.addAll(cursor == null
+                    ? archivedExpenseRepository.findDtoPageByUserId(currentUser.getId(), limit)
+                    : archivedExpenseRepository.findDtoPageByUserIdAfterCursor(currentUser.getId(), cursor.date(), cursor.id(), limit));
+            merged.sort(NEWEST_FIRST);
+            rows = merged.size() > pageSize + 1 ? new ArrayList<>(merged.subList(0, pageSize + 1)) : merged;
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseDto> pageRows = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        page.setItems(pageRows);
+        page.setHasMore(hasMore);
+        if (hasMore) {
+            ExpenseDto last = pageRows.get(pageRows.size() - 1);
+            page.setNextCursor(new ExpenseCursor(last.getDate(), last.getId()).encode());
+        }
+        return page;
     }
 
     @Transactional(readOnly = true)
     public Optional<ExpenseDto> findById(Integer id) {
-        return expenseRepository.findById(id)
+        Optional<ExpenseDto> expense = expenseRepository.findById(id)
                 .map(this::convertToDto);
+        if (expense.isEmpty() && expenseArchiveService.getArchivedBefore() != null) {
+            return archivedExpenseRepository.findDtoById(id);
+        }
+        return expense;
     }
 
     public ExpenseDto createExpense(ExpenseCreateDto expenseCreateDto) {
@@ -69,6 +144,7 @@ public class ExpenseService {
         expense.setCreatedAt(LocalDateTime.now());
 
         Expense savedExpense = expenseRepository.save(expense);
+        expenseRollupService.recordCreated(savedExpense);
         return convertToDto(savedExpense);
     }
 
@@ -82,6 +158,7 @@ public class ExpenseService {
         }
 
         Category category = categoryService.findCategoryById(expenseCreateDto.getCategoryId());
+        expenseRollupService.recordDeleted(expense);
 
         expense.setAmount(expenseCreateDto.getAmount());
         expense.setDescription(expenseCreateDto.getDescription());
@@ -90,6 +167,7 @@ public class ExpenseService {
         expense.setUpdatedAt(LocalDateTime.now());
 
         Expense savedExpense = expenseRepository.save(expense);
+        expenseRollupService.recordCreated(savedExpense);
         return convertToDto(savedExpense);
     }
 
@@ -102,6 +180,7 @@ public class ExpenseService {
             throw new RuntimeException("Not authorized to delete this expense");
         }
 
+        expenseRollupService.recordDeleted(expense);
         expenseRepository.deleteById(id);
     }
 
@@ -112,10 +191,8 @@ public class ExpenseService {
             return new ArrayList<>();
         }
 
-        return expenseRepository.findByUserAndDateBetween(currentUser, startDate, endDate).stream()
-                .map(this::convertToDto)
-                .sorted((e1, e2) -> e2.getDate().compareTo(e1.getDate()))
-                .collect(Collectors.toList());
+        return withArchived(expenseRepository.findDtosByUserIdAndDateBetween(currentUser.getId(), startDate, endDate),
+                startDate, () -> archivedExpenseRepository.findDtosByUserIdAndDateBetween(currentUser.getId(), startDate, endDate));
     }
 
     @Transactional(readOnly = true)
@@ -126,10 +203,8 @@ public class ExpenseService {
         }
 
         Category category = categoryService.findCategoryById(categoryId);
-        return expenseRepository.findByUserAndCategory(currentUser, category).stream()
-                .map(this::convertToDto)
-                .sorted((e1, e2) -> e2.getDate().compareTo(e1.getDate()))
-                .collect(Collectors.toList());
+        return withArchived(expenseRepository.findDtosByUserIdAndCategoryId(currentUser.getId(), category.getId()), null,
+                () -> archivedExpenseRepository.findDtosByUserIdAndCategoryId(currentUser.getId(), category.getId()));
     }
 
     @Transactional(readOnly = true)
@@ -139,10 +214,8 @@ public class ExpenseService {
             return new ArrayList<>();
         }
 
-        return expenseRepository.findByUserAndAmountBetween(currentUser, minAmount, maxAmount).stream()
-                .map(this::convertToDto)
-                .sorted((e1, e2) -> e2.getDate().compareTo(e1.getDate()))
-                .collect(Collectors.toList());
+        return withArchived(expenseRepository.findDtosByUserIdAndAmountBetween(currentUser.getId(), minAmount, maxAmount), null,
+                () -> archivedExpenseRepository.findDtosByUserIdAndAmountBetween(currentUser.getId(), minAmount, maxAmount));
     }
 
     @Transactional(readOnly = true)
@@ -152,8 +225,15 @@ public class ExpenseService {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal total = expenseRepository.sumAmountByUser(currentUser);
-        return total != null ? total : BigDecimal.ZERO;
+        BigDecimal total = useRollup
+                ? rollupRepository.sumAmountByUserId(currentUser.getId())
+                : expenseRepository.sumAmountByUser(currentUser);
+        total = total != null ? total : BigDecimal.ZERO;
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        if (ExpenseArchiveService.reaches(archivedBefore, null)) {
+            total = total.add(expenseArchiveService.sumAmount(currentUser.getId(), archivedBefore, null, null));
+        }
+        return total;
     }
 
     @Transactional(readOnly = true)
@@ -163,8 +243,15 @@ public class ExpenseService {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal total = expenseRepository.sumAmountByUserAndDateBetween(currentUser, startDate, endDate);
-        return total != null ? total : BigDecimal.ZERO;
+        BigDecimal total = useRollup
+                ? rollupRepository.sumAmountByUserIdAndDayBetween(currentUser.getId(), startDate, endDate)
+                : expenseRepository.sumAmountByUserAndDateBetween(currentUser, startDate, endDate);
+        total = total != null ? total : BigDecimal.ZERO;
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        if (ExpenseArchiveService.reaches(archivedBefore, startDate)) {
+            total = total.add(expenseArchiveService.sumAmount(currentUser.getId(), archivedBefore, startDate, endDate));
+        }
+        return total;
     }
 
     @Transactional(readOnly = true)
@@ -174,7 +261,15 @@ public class ExpenseService {
             return new HashMap<>();
         }
 
-        List<Object[]> results = expenseRepository.findExpensesSumByCategory(currentUser, startDate, endDate);
+        List<Object[]> results = useRollup
+                ? rollupRepository.findExpensesSumByCategory(currentUser.getId(), startDate, endDate)
+                : expenseRepository.findExpensesSumByCategory(currentUser, startDate, endDate);
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        if (ExpenseArchiveService.reaches(archivedBefore, startDate)) {
+            List<Object[]> combined = new ArrayList<>(results);
+            combined.addAll(expenseArchiveService.sumAmountByCategory(currentUser.getId(), archivedBefore, startDate, endDate));
+            results = mergeCategorySums(combined);
+        }
         Map<CategoryDto, BigDecimal> categoryExpenses = new LinkedHashMap<>();
 
         for (Object[] result : results) {
@@ -201,16 +296,31 @@ public class ExpenseService {
             return new HashMap<>();
         }
 
+        BigDecimal[] totals = new BigDecimal[12];
+        Arrays.fill(totals, BigDecimal.ZERO);
+
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        List<Object[]> results = useRollup
+                ? rollupRepository.sumAmountByUserIdGroupedByMonth(currentUser.getId(), startDate, endDate)
+                : expenseRepository.sumAmountByUserGroupedByMonth(currentUser, startDate, endDate);
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        if (ExpenseArchiveService.reaches(archivedBefore, startDate)) {
+            results = new ArrayList<>(results);
+            results.addAll(expenseArchiveService.sumAmountGroupedByMonth(currentUser.getId(), archivedBefore, startDate, endDate));
+        }
+        // Ten sam miesiąc może przyjść z tabeli wydatków i z archiwum, więc sumy są dodawane
+        for (Object[] result : results) {
+            int month = ((Number) result[1]).intValue();
+            totals[month - 1] = totals[month - 1].add((BigDecimal) result[2]);
+        }
+
         Map<String, BigDecimal> monthlyExpenses = new LinkedHashMap<>();
         String[] months = {"January", "February", "March", "April", "May", "June",
                 "July", "August", "September", "October", "November", "December"};
 
         for (int month = 1; month <= 12; month++) {
-            LocalDate startDate = LocalDate.of(year, month, 1);
-            LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
-
-            BigDecimal monthTotal = getTotalExpensesForPeriod(startDate, endDate);
-            monthlyExpenses.put(months[month - 1], monthTotal);
+            monthlyExpenses.put(months[month - 1], totals[month - 1]);
         }
 
         return monthlyExpenses;
@@ -235,4 +345,56 @@ public class ExpenseService {
 
         return dto;
     }
+
+    private List<ExpenseDto> withArchived(List<ExpenseDto> expenses, LocalDate startDate,
+                                          Supplier<List<ExpenseDto>> archived) {
+        if (!ExpenseArchiveService.reaches(expenseArchiveService.getArchivedBefore(), startDate)) {
+            return expenses;
+        }
+        List<ExpenseDto> merged = new ArrayList<>(expenses);
+        merged.addAll(archived.get());
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    /**
+     * Łączy wiersze [Category, suma] tej samej kategorii i sortuje malejąco po sumie, jak zapytania repozytoriów.
+     */
+    private List<Object[]> mergeCategorySums(List<Object[]> results) {
+        Map<Integer, Object[]> merged = new LinkedHashMap<>();
+        for (Object[] result : results) {
+            Category category = (Category) result[0];
+            merged.merge(category.getId(), new Object[]{category, result[1]},
+                    (current, next) -> new Object[]{current[0], ((BigDecimal) current[1]).add((BigDecimal) next[1])});
+        }
+        List<Object[]> sorted = new ArrayList<>(merged.values());
+        sorted.sort(Comparator.comparing((Object[] result) -> (BigDecimal) result[1]).reversed());
+        return sorted;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private record ExpenseCursor(LocalDate date, Integer id) {
+
+        String encode() {
+            String raw = date + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ExpenseCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(':');
+                return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)),
+                        Integer.valueOf(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.trackexpenses.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Równoległe wykonanie niezależnych zapytań odczytu (np. agregatów dashboardu).
+ * Każde zapytanie działa na osobnym wątku wirtualnym we własnej transakcji tylko do odczytu,
+ * a kontekst bezpieczeństwa wątku wywołującego jest przekazywany do zadań.
+ * Zakres (Scope) działa jak StructuredTaskScope: join() czeka na wszystkie zadania,
+ * a pierwszy błąd anuluje zadania, które jeszcze nie wystartowały.
+ */
+@Component
+public class QueryFanOut implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public QueryFanOut(PlatformTransactionManager transactionManager,
+                       @Value("${app.dashboard.parallel-queries:true}") boolean parallel) {
+        this.executor = parallel
+                ? new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor())
+                : null;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+
+        /**
+         * Zwraca dostawcę wyniku – można go wywołać dopiero po join().
+         * Przy wyłączonym trybie równoległym zapytanie wykonuje się od razu, na bieżącym wątku.
+         */
+        public <T> Supplier<T> fork(Supplier<T> query) {
+            Supplier<T> transactional = () -> readOnlyTransaction.execute(status -> query.get());
+            CompletableFuture<T> task = executor != null
+                    ? CompletableFuture.supplyAsync(transactional, executor)
+                    : CompletableFuture.completedFuture(transactional.get());
+            tasks.add(task);
+            return task::join;
+        }
+
+        public void join() {
+            // Pierwszy błąd kończy oczekiwanie od razu, bez czekania na pozostałe zapytania
+            CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+            tasks.forEach(task -> task.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            }));
+            try {
+                CompletableFuture.anyOf(CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)), firstFailure).join();
+            } catch (CompletionException e) {
+                close();
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+}
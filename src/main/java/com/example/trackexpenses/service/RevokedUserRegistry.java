@@ -0,0 +1,41 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zbiór użytkowników, których tokeny nie mogą być już akceptowane w trybie bezstanowym
+ * (konto dezaktywowane albo usunięte). Wypełniany przy starcie z bazy i aktualizowany przez UserService.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedUserRegistry {
+
+    private final UserRepository userRepository;
+    private final Set<Integer> revokedUserIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void loadInactiveUsers() {
+        revokedUserIds.addAll(userRepository.findIdsByIsActive(false));
+        log.info("Loaded {} inactive users into revocation registry", revokedUserIds.size());
+    }
+
+    public void revoke(Integer userId) {
+        revokedUserIds.add(userId);
+    }
+
+    public void restore(Integer userId) {
+        revokedUserIds.remove(userId);
+    }
+
+    public boolean isRevoked(Integer userId) {
+        return revokedUserIds.contains(userId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.SpendingTrendsDto;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SpendingTrendService {
+
+    private final ExpenseRepository expenseRepository;
+    private final UserService userService;
+    private final ExpenseDailyRollupRepository rollupRepository;
+    private final ExpenseArchiveService expenseArchiveService;
+
+    @Value("${app.reports.use-rollup:false}")
+    private boolean useRollup;
+
+    @Value("${app.dashboard.trends.max-months:60}")
+    private int maxMonths;
+
+    @Value("${app.dashboard.trends.rolling-window:3}")
+    private int rollingWindow;
+
+    public SpendingTrendsDto getSpendingTrends(Integer months, LocalDate today) {
+        if (months == null || months < 1 || months > maxMonths) {
+            throw new IllegalArgumentException("Months must be between 1 and " + maxMonths);
+        }
+
+        YearMonth lastMonth = YearMonth.from(today);
+        YearMonth firstMonth = lastMonth.minusMonths(months - 1);
+
+        // Całe okno jednym zapytaniem, niezależnie od liczby miesięcy; miesiące sprzed granicy archiwum
+        // dochodzą z podsumowań archiwum (sumy się dodają – do expenses mogły później trafić wydatki z tych dat)
+        Map<YearMonth, BigDecimal> totals = new HashMap<>();
+        User currentUser = userService.getCurrentUser();
+        if (currentUser != null) {
+            LocalDate startDate = firstMonth.atDay(1);
+            LocalDate endDate = lastMonth.atEndOfMonth();
+            List<Object[]> results = new ArrayList<>(useRollup
+                    ? rollupRepository.sumAmountByUserIdGroupedByMonth(currentUser.getId(), startDate, endDate)
+                    : expenseRepository.sumAmountByUserGroupedByMonth(currentUser, startDate, endDate));
+            LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+            if (ExpenseArchiveService.reaches(archivedBefore, startDate)) {
+                results.addAll(expenseArchiveService.sumAmountGroupedByMonth(
+                        currentUser.getId(), archivedBefore, startDate, endDate));
+            }
+            for (Object[] result : results) {
+                YearMonth month = YearMonth.of(((Number) result[0]).intValue(), ((Number) result[1]).intValue());
+                totals.merge(month, (BigDecimal) result[2], BigDecimal::add);
+            }
+        }
+
+        Map<String, BigDecimal> monthlySpending = new LinkedHashMap<>();
+        Map<String, BigDecimal> rollingAverage = new LinkedHashMap<>();
+        BigDecimal[] window = new BigDecimal[rollingWindow];
+        BigDecimal windowSum = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+
+        for (int i = 0; i < months; i++) {
+            YearMonth month = firstMonth.plusMonths(i);
+            String monthKey = month.getYear() + "-" + String.format("%02d", month.getMonthValue());
+            BigDecimal monthTotal = totals.getOrDefault(month, BigDecimal.ZERO);
+
+            int slot = i % rollingWindow;
+            if (window[slot] != null) {
+                windowSum = windowSum.subtract(window[slot]);
+            }
+            window[slot] = monthTotal;
+            windowSum = windowSum.add(monthTotal);
+            total = total.add(monthTotal);
+
+            int windowSize = Math.min(i + 1, rollingWindow);
+            monthlySpending.put(monthKey, monthTotal);
+            rollingAverage.put(monthKey, windowSum.divide(BigDecimal.valueOf(windowSize), 2, RoundingMode.HALF_UP));
+        }
+
+        SpendingTrendsDto trends = new SpendingTrendsDto();
+        trends.setMonths(months);
+        trends.setRollingWindow(rollingWindow);
+        trends.setMonthlySpending(monthlySpending);
+        trends.setRollingAverage(rollingAverage);
+        trends.setAverageMonthlySpending(total.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP));
+        return trends;
+    }
+}
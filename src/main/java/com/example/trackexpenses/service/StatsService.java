@@ -0,0 +1,158 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.BudgetRepository;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.example.trackexpenses.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Liczniki dla endpointów statystyk. Każdy licznik pochodzi z zapytania COUNT/SUM,
+ * więc pamięć nie zależy od liczby użytkowników, kategorii ani wydatków.
+ * Liczba i suma wszystkich wydatków obejmują też wydatki zarchiwizowane.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatsService {
+
+    private final ExpenseRepository expenseRepository;
+    private final BudgetRepository budgetRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserService userService;
+    private final QueryFanOut queryFanOut;
+    private final ExpenseArchiveService expenseArchiveService;
+
+    public Map<String, Object> getExpenseStats(LocalDate today) {
+        ExpenseTotals totals = currentUserTotals(today);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalExpenses", totals.expenseCount());
+        stats.put("totalAmount", totals.totalAmount());
+        stats.put("currentMonthAmount", totals.periodAmount());
+        return stats;
+    }
+
+    public Map<String, Object> getBudgetStats(LocalDate today) {
+        User currentUser = userService.getCurrentUser();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalBudgets", currentUser != null ? budgetRepository.countByUser(currentUser) : 0L);
+        stats.put("currentMonthBudget", currentUser != null ? monthBudget(currentUser, today) : BigDecimal.ZERO);
+        return stats;
+    }
+
+    public Map<String, Object> getUserStats() {
+        UserRepository.UserCounts counts = userRepository.countUsers();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", counts.getTotal());
+        stats.put("activeUsers", counts.getActive() != null ? counts.getActive() : 0L);
+        return stats;
+    }
+
+    public Map<String, Object> getCategoryStats() {
+        CategoryRepository.CategoryCounts counts = categoryRepository.countCategories();
+        long total = counts.getTotal();
+        long defaults = counts.getDefaults() != null ? counts.getDefaults() : 0L;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCategories", total);
+        stats.put("defaultCategories", defaults);
+        stats.put("customCategories", total - defaults);
+        return stats;
+    }
+
+    /**
+     * Zapytania przeglądu są niezależne, więc wykonują się równolegle – każde we własnej transakcji,
+     * dlatego sama metoda nie trzyma połączenia na czas oczekiwania.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getOverview(LocalDate today) {
+        User currentUser = userService.getCurrentUser();
+        ExpenseTotals totals;
+        long totalBudgets;
+        BigDecimal monthlyBudget;
+        long totalCategories;
+
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            Supplier<ExpenseTotals> expenseTotals = scope.fork(() -> currentUserTotals(currentUser, today));
+            Supplier<Long> budgetCount = scope.fork(() -> currentUser != null ? budgetRepository.countByUser(currentUser) : 0L);
+            Supplier<BigDecimal> budgetSum = scope.fork(() -> currentUser != null ? monthBudget(currentUser, today) : BigDecimal.ZERO);
+            Supplier<Long> categoryCount = scope.fork(categoryRepository::count);
+            scope.join();
+
+            totals = expenseTotals.get();
+            totalBudgets = budgetCount.get();
+            monthlyBudget = budgetSum.get();
+            totalCategories = categoryCount.get();
+        }
+        BigDecimal monthlySpent = totals.periodAmount();
+
+        Map<String, Object> overview = new HashMap<>();
+        overview.put("totalExpenses", totals.expenseCount());
+        overview.put("totalBudgets", totalBudgets);
+        overview.put("totalCategories", totalCategories);
+        overview.put("totalSpent", totals.totalAmount());
+        overview.put("currentMonthBudget", monthlyBudget);
+        overview.put("currentMonthSpent", monthlySpent);
+
+        if (monthlyBudget.compareTo(BigDecimal.ZERO) > 0) {
+            double budgetUsagePercent = monthlySpent.divide(monthlyBudget, 4, RoundingMode.HALF_UP)
+                    .multiply(new BigDecimal("100")).doubleValue();
+            overview.put("budgetUsagePercent", budgetUsagePercent);
+        } else {
+            overview.put("budgetUsagePercent", 0);
+        }
+        return overview;
+    }
+
+    private ExpenseTotals currentUserTotals(LocalDate today) {
+        return currentUserTotals(userService.getCurrentUser(), today);
+    }
+
+    private ExpenseTotals currentUserTotals(User currentUser, LocalDate today) {
+        if (currentUser == null) {
+            return new ExpenseTotals(0L, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        YearMonth month = YearMonth.from(today);
+        ExpenseRepository.ExpenseTotals totals = expenseRepository.sumTotalsByUserId(
+                currentUser.getId(), month.atDay(1), month.atEndOfMonth());
+        long count = totals != null && totals.getExpenseCount() != null ? totals.getExpenseCount() : 0L;
+        BigDecimal totalAmount = totals != null ? orZero(totals.getTotalAmount()) : BigDecimal.ZERO;
+        BigDecimal periodAmount = totals != null ? orZero(totals.getPeriodAmount()) : BigDecimal.ZERO;
+
+        // Bieżący miesiąc nigdy nie jest w archiwum, więc dochodzą tylko liczba i suma całkowita
+        LocalDate archivedBefore = expenseArchiveService.getArchivedBefore();
+        if (ExpenseArchiveService.reaches(archivedBefore, null)) {
+            count += expenseArchiveService.countExpenses(currentUser.getId(), archivedBefore, null, null);
+            totalAmount = totalAmount.add(expenseArchiveService.sumAmount(currentUser.getId(), archivedBefore, null, null));
+        }
+        return new ExpenseTotals(count, totalAmount, periodAmount);
+    }
+
+    private BigDecimal monthBudget(User user, LocalDate today) {
+        return orZero(budgetRepository.sumAmountByUserIdAndYearAndMonth(
+                user.getId(), today.getYear(), today.getMonthValue()));
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private record ExpenseTotals(long expenseCount, BigDecimal totalAmount, BigDecimal periodAmount) {
+    }
+}
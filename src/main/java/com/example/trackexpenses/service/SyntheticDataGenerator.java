@@ -0,0 +1,281 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.SyntheticDataResultDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Role;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generator danych syntetycznych do testów obciążeniowych i planowania pojemności.
+ * Tworzy użytkowników z wydatkami i budżetami rozłożonymi na kategorie i lata.
+ * Wiersze są wstawiane paczkami JDBC (w profilu prod sterownik łączy je w wielowierszowe INSERT-y),
+ * a każda grupa użytkowników jest zapisywana we własnej transakcji.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator {
+
+    public static final String USERNAME_PREFIX = "loadtest";
+
+    private static final int EXPENSE_ID_ALLOCATION = 50;
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("99999999.99");
+
+    /**
+     * Profil wydatków w kategorii: udział w liczbie wydatków i średnia kwota.
+     * Kategorie spoza tabeli dostają profil domyślny.
+     */
+    private static final Map<String, double[]> CATEGORY_PROFILES = Map.of(
+            "Food", new double[]{0.35, 40},
+            "Transportation", new double[]{0.15, 30},
+            "Shopping", new double[]{0.12, 70},
+            "Entertainment", new double[]{0.10, 35},
+            "Bills", new double[]{0.08, 150},
+            "Housing", new double[]{0.05, 900},
+            "Healthcare", new double[]{0.05, 80},
+            "Education", new double[]{0.03, 120},
+            "Travel", new double[]{0.03, 400}
+    );
+    private static final double[] DEFAULT_PROFILE = {0.04, 25};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CategoryService categoryService;
+
+    @Value("${app.generator.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.generator.users-per-transaction:100}")
+    private int usersPerTransaction;
+
+    @Value("${app.generator.password:loadtest123}")
+    private String password;
+
+    /**
+     * @param users           liczba nowych użytkowników ({@code loadtest<n>}, numeracja kontynuuje poprzednie uruchomienia)
+     * @param expensesPerUser średnia liczba wydatków na użytkownika; aktywność użytkowników jest zróżnicowana
+     * @param years           liczba lat wstecz od dziś, na które rozkładane są wydatki i budżety
+     * @param seed            ziarno generatora liczb losowych – ten sam seed daje te same kwoty i daty
+     */
+    public SyntheticDataResultDto generate(int users, int expensesPerUser, int years, long seed) {
+        if (users < 1 || expensesPerUser < 0 || years < 1) {
+            throw new RuntimeException("users and years must be positive, expensesPerUser must not be negative");
+        }
+
+        long started = System.currentTimeMillis();
+        List<CategoryProfile> categories = categoryProfiles();
+        if (categories.isEmpty()) {
+            throw new RuntimeException("Categories not found. Initialize categories first.");
+        }
+
+        Random random = new Random(seed);
+        // Hasło jest kodowane raz – BCrypt dla każdego użytkownika zdominowałby czas generowania
+        String encodedPassword = passwordEncoder.encode(password);
+        int firstIndex = findHighestUserIndex() + 1;
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(years).plusDays(1);
+
+        SyntheticDataResultDto result = new SyntheticDataResultDto();
+        result.setUsernamePrefix(USERNAME_PREFIX);
+
+        for (int offset = 0; offset < users; offset += usersPerTransaction) {
+            int chunkFirst = firstIndex + offset;
+            int chunkSize = Math.min(usersPerTransaction, users - offset);
+            long[] counts = transactionTemplate.execute(status ->
+                    generateChunk(chunkFirst, chunkSize, encodedPassword, expensesPerUser, categories, from, today, random));
+            result.setUsers(result.getUsers() + chunkSize);
+            result.setExpenses(result.getExpenses() + counts[0]);
+            result.setBudgets(result.getBudgets() + counts[1]);
+            log.info("Synthetic data: {}/{} users, {} expenses, {} budgets",
+                    result.getUsers(), users, result.getExpenses(), result.getBudgets());
+        }
+
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        log.info("Synthetic data generated in {} ms: {}", result.getElapsedMillis(), result);
+        return result;
+    }
+
+    /**
+     * Najwyższy numer w nazwach {@code loadtest<n>} (0, gdy ich nie ma). Liczba takich użytkowników nie wystarcza –
+     * po usunięciu któregoś kolejne uruchomienie trafiłoby na zajętą nazwę. Dopasowanie bez LIKE (znaki wieloznaczne
+     * w prefiksie łapałyby inne nazwy), a sufiks musi składać się z samych cyfr.
+     */
+    private int findHighestUserIndex() {
+        int prefixLength = USERNAME_PREFIX.length();
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(CAST(SUBSTRING(username, ?) AS INTEGER)), 0) FROM users " +
+                "WHERE LEFT(username, ?) = ? AND LENGTH(username) BETWEEN ? AND ? " +
+                "AND TRANSLATE(SUBSTRING(username, ?), '123456789', '000000000') = REPEAT('0', LENGTH(username) - ?)",
+                Integer.class, prefixLength + 1, prefixLength, USERNAME_PREFIX,
+                prefixLength + 1, prefixLength + 9, prefixLength + 1, prefixLength);
+    }
+
+    private long[] generateChunk(int firstIndex, int count, String encodedPassword, int expensesPerUser,
+                                 List<CategoryProfile> categories, LocalDate from, LocalDate to, Random random) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> userRows = new ArrayList<>(count);
+        for (int i = firstIndex; i < firstIndex + count; i++) {
+            userRows.add(new Object[]{USERNAME_PREFIX + i, USERNAME_PREFIX + i + "@example.com",
+                    encodedPassword, Role.USER.name(), true, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role, is_active, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", userRows);
+
+        List<Integer> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username IN (" + placeholders(count) + ") ORDER BY id",
+                Integer.class, userRows.stream().map(row -> row[0]).toArray());
+
+        long expenses = 0;
+        long budgets = 0;
+        List<Object[]> expenseRows = new ArrayList<>(batchSize);
+        List<Object[]> budgetRows = new ArrayList<>(batchSize);
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+
+        for (Integer userId : userIds) {
+            // Aktywność użytkowników ma rozkład log-normalny: większość blisko średniej, nieliczni znacznie powyżej
+            double activity = logNormal(random, 0.5);
+            int userExpenses = (int) Math.round(expensesPerUser * activity);
+            for (int i = 0; i < userExpenses; i++) {
+                CategoryProfile category = pickCategory(categories, random);
+                LocalDate date = from.plusDays(random.nextInt(days));
+                expenseRows.add(new Object[]{null, amount(category.meanAmount(), random),
+                        category.name() + " expense", date, category.id(), userId, now});
+                if (expenseRows.size() >= batchSize) {
+                    expenses += insertExpenses(expenseRows);
+                }
+            }
+
+            // Budżety co miesiąc dla kategorii o największym udziale, z zapasem względem oczekiwanych wydatków
+            double expensesPerMonth = userExpenses / (days / 30.0);
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                for (CategoryProfile category : categories) {
+                    if (category.weight() < 0.08) {
+                        continue;
+                    }
+                    double expected = expensesPerMonth * category.weight() * category.meanAmount();
+                    BigDecimal amount = BigDecimal.valueOf(Math.max(10, Math.round(expected * 1.1 / 10) * 10));
+                    budgetRows.add(new Object[]{amount, category.id(), userId, month.getMonthValue(), month.getYear(), now});
+                    if (budgetRows.size() >= batchSize) {
+                        budgets += insertBudgets(budgetRows);
+                    }
+                }
+            }
+        }
+        expenses += insertExpenses(expenseRows);
+        budgets += insertBudgets(budgetRows);
+
+        // Nowi użytkownicy nie mają jeszcze wierszy w rollupie, więc wystarczy jedno zapytanie agregujące
+        jdbcTemplate.update("INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count) " +
+                "SELECT user_id, category_id, date, SUM(amount), COUNT(*) FROM expenses " +
+                "WHERE user_id IN (" + placeholders(userIds.size()) + ") GROUP BY user_id, category_id, date",
+                userIds.toArray());
+
+        return new long[]{expenses, budgets};
+    }
+
+    /**
+     * Identyfikatory są rezerwowane z expenses_id_seq blokami po 50, tak jak robi to Hibernate (pooled optimizer),
+     * więc wydatki zapisane później przez JPA nie kolidują z wygenerowanymi.
+     */
+    private int insertExpenses(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int next = 0;
+        int high = 0;
+        for (Object[] row : rows) {
+            if (next == 0 || next > high) {
+                high = reserveExpenseIds();
+                next = high - EXPENSE_ID_ALLOCATION + 1;
+            }
+            row[0] = next++;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expenses (id, amount, description, date, category_id, user_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        int inserted = rows.size();
+        rows.clear();
+        return inserted;
+    }
+
+    private int reserveExpenseIds() {
+        int high = jdbcTemplate.queryForObject("SELECT nextval('expenses_id_seq')", Integer.class);
+        // Pierwsza wartość sekwencji (1) nie wyznacza pełnego bloku dodatnich identyfikatorów
+        return high < EXPENSE_ID_ALLOCATION ? reserveExpenseIds() : high;
+    }
+
+    private int insertBudgets(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO budgets (amount, category_id, user_id, month, year, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        int inserted = rows.size();
+        rows.clear();
+        return inserted;
+    }
+
+    private List<CategoryProfile> categoryProfiles() {
+        List<CategoryProfile> profiles = new ArrayList<>();
+        for (Category category : categoryService.findCategoryMap().values()) {
+            double[] profile = CATEGORY_PROFILES.getOrDefault(category.getName(), DEFAULT_PROFILE);
+            profiles.add(new CategoryProfile(category.getId(), category.getName(), profile[0], profile[1]));
+        }
+        profiles.sort(Comparator.comparing(CategoryProfile::id));
+        return profiles;
+    }
+
+    private CategoryProfile pickCategory(List<CategoryProfile> categories, Random random) {
+        double total = 0;
+        for (CategoryProfile category : categories) {
+            total += category.weight();
+        }
+        double point = random.nextDouble() * total;
+        for (CategoryProfile category : categories) {
+            point -= category.weight();
+            if (point < 0) {
+                return category;
+            }
+        }
+        return categories.get(categories.size() - 1);
+    }
+
+    private BigDecimal amount(double mean, Random random) {
+        BigDecimal amount = BigDecimal.valueOf(Math.max(0.5, mean * logNormal(random, 0.6)))
+                .setScale(2, RoundingMode.HALF_UP);
+        return amount.min(MAX_AMOUNT);
+    }
+
+    /**
+     * Wartość z rozkładu log-normalnego o średniej 1.
+     */
+    private double logNormal(Random random, double sigma) {
+        return Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2);
+    }
+
+    private String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record CategoryProfile(Integer id, String name, double weight, double meanAmount) {
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.trackexpenses.service;
 
+import com.example.trackexpenses.dto.PurgeJobDto;
 import com.example.trackexpenses.dto.UserDto;
 import com.example.trackexpenses.dto.UserRegistrationDto;
 import com.example.trackexpenses.entity.Role;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +26,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserHolder currentUserHolder;
+    private final RevokedUserRegistry revokedUserRegistry;
+    private final DataPurgeService dataPurgeService;
 
     public UserDto registerUser(UserRegistrationDto registrationDto) {
         if (userRepository.findByUsername(registrationDto.getUsername()).isPresent()) {
@@ -71,14 +76,28 @@ public class UserService {
 
         user.setIsActive(isActive);
         User savedUser = userRepository.save(user);
+
+        if (Boolean.TRUE.equals(isActive)) {
+            revokedUserRegistry.restore(userId);
+        } else {
+            revokedUserRegistry.revoke(userId);
+        }
         return convertToDto(savedUser);
     }
 
-    public void deleteUser(Integer userId) {
+    /**
+     * Konto jest od razu blokowane, a wydatki, budżety i sam użytkownik są usuwane w tle paczkami (DataPurgeService).
+     */
+    public PurgeJobDto deleteUser(Integer userId) {
         if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found");
         }
-        userRepository.deleteById(userId);
+        return dataPurgeService.startUserPurge(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PurgeJobDto> findPurgeJob(String jobId) {
+        return dataPurgeService.findJob(jobId);
     }
 
     @Transactional(readOnly = true)
@@ -90,6 +109,10 @@ public class UserService {
             return null;
         }
 
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return currentUserHolder.resolve(principal);
+        }
+
         String username = authentication.getName();
         return userRepository.findByUsername(username).orElse(null);
     }
@@ -1,26 +1,52 @@
 package com.example.trackexpenses.util;
 
+import com.example.trackexpenses.entity.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
 @Slf4j
 public class JwtUtil {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ACTIVE = "active";
+
     @Value("${app.jwt.secret:mySecretKey12345678901234567890123456789012345678901234567890}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration:86400000}")
     private int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.claims-cache-size:1024}")
+    private int claimsCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        // Zweryfikowane tokeny; wpis nie żyje dłużej niż token, a wpisy z minionym exp są odrzucane przy odczycie
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(Math.max(claimsCacheSize, 0))
+                .expireAfterWrite(Duration.ofMillis(jwtExpirationMs))
+                .build();
     }
 
     public String generateToken(String username) {
@@ -28,26 +54,47 @@ public class JwtUtil {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
+                .compact();
+    }
+
+    public String generateToken(Integer userId, String username, Role role, boolean active) {
+        return Jwts.builder()
+                .subject(username)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role.name())
+                .claim(CLAIM_ACTIVE, active)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .signWith(signingKey)
                 .compact();
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        Claims cached = getCachedClaims(token);
+        if (cached != null) {
+            return cached.getSubject();
+        }
+        return jwtParser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Weryfikuje token i zwraca jego claims jednym parsowaniem; null, gdy token jest nieprawidłowy.
+     */
+    public Claims parseClaims(String token) {
+        Claims cached = getCachedClaims(token);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            if (claimsCacheSize > 0 && claims.getExpiration() != null) {
+                claimsCache.put(token, claims);
+            }
+            return claims;
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -57,6 +104,23 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    private Claims getCachedClaims(String token) {
+        if (token == null || claimsCacheSize <= 0) {
+            return null;
+        }
+
+        Claims claims = claimsCache.getIfPresent(token);
+        if (claims != null && claims.getExpiration().before(new Date())) {
+            claimsCache.invalidate(token);
+            return null;
+        }
+        return claims;
     }
-}
\ No newline at end of file
+}
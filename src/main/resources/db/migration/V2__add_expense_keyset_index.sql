@@ -0,0 +1,2 @@
+-- Keyset pagination index for expense listing (newest first)
+CREATE INDEX idx_expenses_user_date_id ON expenses (user_id, date DESC, id DESC);
@@ -0,0 +1,3 @@
+-- Hibernate rezerwuje identyfikatory wydatków pulami po 50 (pooled optimizer),
+-- dzięki czemu wstawienia mogą być wysyłane paczkami JDBC
+ALTER SEQUENCE expenses_id_seq INCREMENT BY 50;
@@ -0,0 +1,17 @@
+-- Dzienne sumy wydatków per użytkownik i kategoria, utrzymywane przy zapisie wydatków
+CREATE TABLE expense_daily_rollup (
+    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    category_id INTEGER NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+    day DATE NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    expense_count INTEGER NOT NULL,
+    PRIMARY KEY (user_id, category_id, day)
+);
+
+CREATE INDEX idx_expense_daily_rollup_user_day ON expense_daily_rollup (user_id, day);
+
+-- Zasilenie danymi historycznymi
+INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count)
+SELECT user_id, category_id, date, SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY user_id, category_id, date;
@@ -0,0 +1,35 @@
+-- Indeksy dopasowane do zapytań ExpenseRepository i BudgetRepository
+
+-- Wydatki użytkownika w zakresie dat (listy, stronicowanie kursorem, sumy okresowe i miesięczne).
+-- Kolumny INCLUDE pozwalają liczyć sumy (także per kategoria) samym skanem indeksu, bez odczytu tabeli.
+-- Indeks zastępuje idx_expenses_user_date_id z V2 - stronicowanie (date DESC, id DESC) czyta go wstecz.
+CREATE INDEX idx_expenses_user_date_id_cover ON expenses (user_id, date, id) INCLUDE (category_id, amount);
+DROP INDEX idx_expenses_user_date_id;
+
+-- Wydatki użytkownika w kategorii (filtr po kategorii, suma dla budżetu, status budżetów)
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category_id, date) INCLUDE (amount);
+
+-- Filtr po zakresie kwot
+CREATE INDEX idx_expenses_user_amount ON expenses (user_id, amount);
+
+-- Jeden budżet na kategorię i miesiąc: przed dodaniem ograniczenia zostaje ostatnio zmieniony z duplikatów
+-- (updated_at, a dla nigdy nie zmienianych created_at; przy remisie wyższe id). Usuwane wiersze są kopiowane
+-- do budgets_removed_duplicates, skąd można je przejrzeć lub przywrócić.
+CREATE TABLE budgets_removed_duplicates AS
+SELECT b.*, NOW() AS removed_at
+FROM budgets b
+JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id, category_id, year, month
+                                    ORDER BY COALESCE(updated_at, created_at) DESC, id DESC) AS rn
+      FROM budgets) ranked ON ranked.id = b.id
+WHERE ranked.rn > 1;
+
+DELETE FROM budgets WHERE id IN (SELECT id FROM budgets_removed_duplicates);
+
+-- Ograniczenie służy też jako indeks dla findByUserAndCategoryAndYearAndMonth
+ALTER TABLE budgets ADD CONSTRAINT uq_budgets_user_category_period UNIQUE (user_id, category_id, year, month);
+
+-- Budżety użytkownika w roku / miesiącu (findByUserAndYear, findByUserAndYearAndMonth, sumy budżetów)
+CREATE INDEX idx_budgets_user_year_month ON budgets (user_id, year, month) INCLUDE (amount);
+
+ANALYZE expenses;
+ANALYZE budgets;
@@ -0,0 +1,85 @@
+-- Tabela expenses partycjonowana zakresami dat: jedna partycja na miesiąc (expenses_yYYYYmMM)
+-- oraz partycja domyślna na wiersze spoza utworzonych zakresów. Zapytania z warunkiem na date
+-- czytają tylko partycje z tego zakresu (partition pruning).
+-- Klucz główny partycjonowanej tabeli musi zawierać kolumnę partycjonującą, stąd (id, date);
+-- unikalność samego id zapewnia sekwencja expenses_id_seq.
+
+ALTER TABLE expenses RENAME TO expenses_unpartitioned;
+ALTER TABLE expenses_unpartitioned RENAME CONSTRAINT expenses_pkey TO expenses_unpartitioned_pkey;
+ALTER SEQUENCE expenses_id_seq OWNED BY NONE;
+
+CREATE TABLE expenses (
+    id INTEGER NOT NULL DEFAULT nextval('expenses_id_seq'),
+    amount DECIMAL(10, 2) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    category_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP,
+    CONSTRAINT expenses_pkey PRIMARY KEY (id, date),
+    CONSTRAINT fk_expense_category FOREIGN KEY (category_id) REFERENCES categories(id),
+    CONSTRAINT fk_expense_user FOREIGN KEY (user_id) REFERENCES users(id)
+) PARTITION BY RANGE (date);
+
+ALTER SEQUENCE expenses_id_seq OWNED BY expenses.id;
+
+CREATE TABLE expenses_default PARTITION OF expenses DEFAULT;
+
+-- Tworzy partycję miesiąca zawierającego month_start, jeśli jeszcze nie istnieje.
+-- Wiersze tego miesiąca, które trafiły wcześniej do partycji domyślnej, są do niej przenoszone
+-- (inaczej ATTACH PARTITION by się nie powiódł).
+CREATE FUNCTION create_expenses_partition(month_start DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'expenses_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE expenses INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM expenses_default WHERE date >= %L AND date < %L RETURNING *) ' ||
+                   'INSERT INTO %I SELECT * FROM moved', from_date, to_date, partition_name);
+    EXECUTE format('ALTER TABLE expenses ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_date, to_date);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tworzy partycje dla wszystkich miesięcy, które mają wiersze w partycji domyślnej (np. po imporcie starych danych).
+CREATE FUNCTION split_expenses_default_partition() RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE;
+    created INTEGER := 0;
+BEGIN
+    FOR month_start IN SELECT DISTINCT date_trunc('month', date)::date FROM expenses_default ORDER BY 1 LOOP
+        IF create_expenses_partition(month_start) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partycje dla miesięcy z istniejącymi danymi oraz bieżącego i trzech kolejnych miesięcy,
+-- tworzone przed kopiowaniem, żeby wiersze trafiały od razu do właściwych partycji
+SELECT create_expenses_partition(month_start)
+FROM (SELECT DISTINCT date_trunc('month', date)::date AS month_start FROM expenses_unpartitioned
+      UNION
+      SELECT (date_trunc('month', CURRENT_DATE) + make_interval(months => m))::date FROM generate_series(0, 3) AS m) months
+ORDER BY month_start;
+
+INSERT INTO expenses (id, amount, description, date, category_id, user_id, created_at, updated_at)
+SELECT id, amount, description, date, category_id, user_id, created_at, updated_at FROM expenses_unpartitioned;
+
+DROP TABLE expenses_unpartitioned;
+
+-- Indeksy z V5 zakładane na tabeli nadrzędnej powstają automatycznie w każdej partycji,
+-- również w partycjach tworzonych później
+CREATE INDEX idx_expenses_user_date_id_cover ON expenses (user_id, date, id) INCLUDE (category_id, amount);
+CREATE INDEX idx_expenses_user_category_date ON expenses (user_id, category_id, date) INCLUDE (amount);
+CREATE INDEX idx_expenses_user_amount ON expenses (user_id, amount);
+
+ANALYZE expenses;
@@ -0,0 +1,78 @@
+-- Archiwum wydatków starszych niż horyzont (app.archive.horizon-months). Zarchiwizowane miesiące znikają
+-- z expenses i expense_daily_rollup, a zostają po nich sumy miesięczne w expense_monthly_summary.
+CREATE TABLE expenses_archive (
+    id INTEGER PRIMARY KEY,
+    amount DECIMAL(10, 2) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    date DATE NOT NULL,
+    category_id INTEGER NOT NULL REFERENCES categories(id),
+    user_id INTEGER NOT NULL REFERENCES users(id),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Jeden indeks zamiast czterech z tabeli expenses - archiwum czyta się rzadko i zawsze dla jednego użytkownika
+CREATE INDEX idx_expenses_archive_user_date_id ON expenses_archive (user_id, date, id);
+
+CREATE TABLE expense_monthly_summary (
+    user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    category_id INTEGER NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+    month DATE NOT NULL,
+    total_amount DECIMAL(14, 2) NOT NULL,
+    expense_count INTEGER NOT NULL,
+    PRIMARY KEY (user_id, category_id, month)
+);
+
+-- Granica archiwum: wszystkie zarchiwizowane wydatki mają datę wcześniejszą niż archived_before.
+-- Jeden wiersz (id = 1) odczytywany przy każdym zapytaniu, więc wszystkie instancje aplikacji widzą tę samą granicę.
+CREATE TABLE expense_archive_state (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    archived_before DATE NOT NULL
+);
+
+-- Przenosi wydatki z miesiąca zawierającego month_start do archiwum w jednej instrukcji, dopisuje ich sumy
+-- do expense_monthly_summary, usuwa dzienne sumy z expense_daily_rollup i pustą już partycję miesiąca (V6).
+-- Wydatki dodane później z datą z tego miesiąca trafią do partycji domyślnej i do archiwum przy kolejnym przebiegu.
+CREATE FUNCTION archive_expenses_month(month_start DATE) RETURNS INTEGER AS $$
+DECLARE
+    from_date DATE := date_trunc('month', month_start)::date;
+    to_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'expenses_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM');
+    archived INTEGER;
+    partition_empty BOOLEAN;
+BEGIN
+    WITH moved AS (
+        DELETE FROM expenses WHERE date >= from_date AND date < to_date
+        RETURNING id, amount, description, date, category_id, user_id, created_at, updated_at),
+    inserted AS (
+        INSERT INTO expenses_archive (id, amount, description, date, category_id, user_id, created_at, updated_at)
+        SELECT id, amount, description, date, category_id, user_id, created_at, updated_at FROM moved
+        RETURNING user_id, category_id, amount),
+    summary AS (
+        INSERT INTO expense_monthly_summary (user_id, category_id, month, total_amount, expense_count)
+        SELECT user_id, category_id, from_date, SUM(amount), COUNT(*) FROM inserted GROUP BY user_id, category_id
+        ON CONFLICT (user_id, category_id, month) DO UPDATE SET
+        total_amount = expense_monthly_summary.total_amount + EXCLUDED.total_amount,
+        expense_count = expense_monthly_summary.expense_count + EXCLUDED.expense_count)
+    SELECT COUNT(*) INTO archived FROM inserted;
+
+    DELETE FROM expense_daily_rollup WHERE day >= from_date AND day < to_date;
+
+    -- Granica przesuwa się w tej samej transakcji co wiersze; późniejsze archiwizowanie starszego miesiąca jej nie cofa
+    INSERT INTO expense_archive_state (id, archived_before) VALUES (1, to_date)
+    ON CONFLICT (id) DO UPDATE SET
+    archived_before = GREATEST(expense_archive_state.archived_before, EXCLUDED.archived_before);
+
+    -- Tylko partycja podpięta do expenses - tabele odłączone przez app.partitions.retention-months zostają
+    IF EXISTS (SELECT 1 FROM pg_inherits
+               WHERE inhrelid = to_regclass(partition_name) AND inhparent = 'expenses'::regclass) THEN
+        EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', partition_name) INTO partition_empty;
+        IF partition_empty THEN
+            EXECUTE format('DROP TABLE %I', partition_name);
+        END IF;
+    END IF;
+
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
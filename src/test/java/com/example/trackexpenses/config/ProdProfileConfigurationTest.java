@@ -0,0 +1,73 @@
+package com.example.trackexpenses.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uruchamia kontekst z profilem prod (na H2 zamiast PostgreSQL) i sprawdza konfigurację puli
+ * oraz to, że metryki HikariCP i Hibernate są rejestrowane w Micrometerze i dostępne dla Prometheusa.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:prodprofile;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.partitions.maintenance-enabled=false"
+})
+@ActiveProfiles("prod")
+@AutoConfigureObservability
+class ProdProfileConfigurationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PrometheusMeterRegistry prometheusRegistry;
+
+    @Value("${spring.jpa.show-sql}")
+    private boolean showSql;
+
+    @Test
+    void prodProfile_ShouldConfigureFixedSizePoolWithLeakDetection() {
+        HikariDataSource hikari = assertInstanceOf(HikariDataSource.class, dataSource);
+
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(20, hikari.getMinimumIdle());
+        assertEquals(20000, hikari.getLeakDetectionThreshold());
+        assertEquals("3", hikari.getDataSourceProperties().getProperty("prepareThreshold"));
+        assertEquals("512", hikari.getDataSourceProperties().getProperty("preparedStatementCacheQueries"));
+        assertFalse(showSql);
+    }
+
+    @Test
+    void prodProfile_ShouldExportConnectionPoolMetrics() {
+        String pool = "expense-tracker";
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", pool).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.idle").tag("pool", pool).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", pool).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer());
+    }
+
+    @Test
+    void prodProfile_ShouldExportPrometheusScrapeAndHibernateStatementMetrics() {
+        assertNotNull(prometheusRegistry);
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+        assertTrue(prometheusRegistry.scrape().contains("hibernate_statements_total"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.trackexpenses.config;
+
+import com.example.trackexpenses.dto.CategoryDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.example.trackexpenses.service.CategoryCache;
+import com.example.trackexpenses.service.CategoryService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CategoryService categoryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CategoryService(categoryRepository, categoryCache));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        categoryService = factory.getProxy();
+    }
+
+    @Test
+    void time_ShouldRecordSuccessfulInvocation() {
+        when(categoryCache.findAll()).thenReturn(List.of(new Category()));
+
+        List<CategoryDto> result = categoryService.findAllCategories();
+
+        assertEquals(1, result.size());
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("class", "CategoryService", "method", "findAllCategories", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void time_ShouldRecordFailedInvocationAndRethrow() {
+        when(categoryRepository.findById(99)).thenReturn(Optional.empty());
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> categoryService.updateCategory(99, new CategoryDto()));
+
+        assertEquals("Category not found", exception.getMessage());
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "updateCategory", "outcome", "ERROR", "exception", "RuntimeException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
@@ -4,6 +4,7 @@ import com.example.trackexpenses.dto.BudgetCreateDto;
 import com.example.trackexpenses.dto.BudgetDto;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.service.BudgetService;
+import com.example.trackexpenses.service.StatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -38,6 +41,9 @@ class BudgetControllerTest {
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock
+    private StatsService statsService;
+
     @InjectMocks
     private BudgetController budgetController;
 
@@ -288,17 +294,17 @@ class BudgetControllerTest {
     @Test
     void getBudgetStats_ShouldReturnBudgetStatistics() throws Exception {
         
-        List<BudgetDto> budgets = Arrays.asList(testBudget, testBudget);
-        BigDecimal currentMonthBudget = new BigDecimal("2000.00");
-        
-        when(budgetService.findBudgetsByCurrentUser()).thenReturn(budgets);
-        LocalDate now = LocalDate.now();
-        when(budgetService.getTotalBudgetForMonth(now.getYear(), now.getMonthValue())).thenReturn(currentMonthBudget);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalBudgets", 2L);
+        stats.put("currentMonthBudget", new BigDecimal("2000.00"));
+        when(statsService.getBudgetStats(LocalDate.now())).thenReturn(stats);
 
         
         mockMvc.perform(get("/api/budgets/stats"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalBudgets", is(2)))
-                .andExpect(jsonPath("$.currentMonthBudget", is(currentMonthBudget.doubleValue())));
+                .andExpect(jsonPath("$.currentMonthBudget", is(2000.0)));
+
+        verify(budgetService, never()).findBudgetsByCurrentUser();
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.trackexpenses.controller;
 
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.StatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,10 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -32,6 +36,9 @@ class CategoryControllerTest {
 
     private ObjectMapper objectMapper = new ObjectMapper();
 
+    @Mock
+    private StatsService statsService;
+
     @InjectMocks
     private CategoryController categoryController;
 
@@ -196,8 +203,11 @@ class CategoryControllerTest {
 
     @Test
     void getCategoryStats_ShouldReturnCategoryStatistics() throws Exception {
-        List<CategoryDto> allCategories = Arrays.asList(testCategory, defaultCategory);
-        when(categoryService.findAllCategories()).thenReturn(allCategories);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCategories", 2L);
+        stats.put("defaultCategories", 1L);
+        stats.put("customCategories", 1L);
+        when(statsService.getCategoryStats()).thenReturn(stats);
 
         
         mockMvc.perform(get("/api/categories/stats"))
@@ -205,6 +215,8 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.totalCategories", is(2)))
                 .andExpect(jsonPath("$.defaultCategories", is(1)))
                 .andExpect(jsonPath("$.customCategories", is(1)));
+
+        verify(categoryService, never()).findAllCategories();
     }
 
     @Test
@@ -217,4 +229,20 @@ class CategoryControllerTest {
 
         verify(categoryService).initializeDefaultCategories();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCategoryCacheStats_ShouldReturnStats() throws Exception {
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hitCount", 9L);
+        stats.put("missCount", 1L);
+        stats.put("hitRate", 0.9);
+        when(categoryService.getCacheStats()).thenReturn(stats);
+
+        
+        mockMvc.perform(get("/api/categories/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount", is(9)))
+                .andExpect(jsonPath("$.hitRate", is(0.9)));
+    }
+}
@@ -1,12 +1,17 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.BudgetStatusDto;
 import com.example.trackexpenses.dto.CategoryDto;
+import com.example.trackexpenses.dto.DashboardSummaryDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.ExpensePageDto;
+import com.example.trackexpenses.dto.SpendingTrendsDto;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.service.BudgetService;
-import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.DashboardService;
 import com.example.trackexpenses.service.ExpenseService;
-import com.example.trackexpenses.service.UserService;
+import com.example.trackexpenses.service.SpendingTrendService;
+import com.example.trackexpenses.service.StatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +31,7 @@ import java.util.*;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,10 +50,13 @@ class DashboardControllerTest {
     private BudgetService budgetService;
 
     @Mock
-    private CategoryService categoryService;
+    private SpendingTrendService spendingTrendService;
 
     @Mock
-    private UserService userService;
+    private DashboardService dashboardService;
+
+    @Mock
+    private StatsService statsService;
 
     @InjectMocks
     private DashboardController dashboardController;
@@ -88,30 +97,26 @@ class DashboardControllerTest {
     @Test
     void getDashboardSummary_ShouldReturnDashboardSummary() throws Exception {
         
-        BigDecimal totalExpenses = new BigDecimal("500.00");
-        BigDecimal monthlyExpenses = new BigDecimal("200.00");
-        BigDecimal totalBudget = new BigDecimal("1000.00");
+        DashboardSummaryDto summary = new DashboardSummaryDto();
+        summary.setTotalExpenses(new BigDecimal("500.00"));
+        summary.setCurrentMonthExpenses(new BigDecimal("200.00"));
+        summary.setCurrentMonthBudget(new BigDecimal("1000.00"));
+        summary.setTotalCategories(1);
+        summary.setRecentExpenses(Collections.singletonList(testExpense));
+        summary.setExpensesByCategory(Collections.singletonMap(testCategory, new BigDecimal("200.00")));
 
-        when(expenseService.getTotalExpensesForCurrentUser()).thenReturn(totalExpenses);
-
-        LocalDate startOfMonth = LocalDate.of(today.getYear(), today.getMonthValue(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        when(expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth)).thenReturn(monthlyExpenses);
-
-        when(budgetService.getTotalBudgetForMonth(today.getYear(), today.getMonthValue())).thenReturn(totalBudget);
-        when(categoryService.findAllCategories()).thenReturn(Collections.singletonList(testCategory));
-        when(expenseService.findExpensesByCurrentUser()).thenReturn(Collections.singletonList(testExpense));
-        when(expenseService.getExpensesByCategory(startOfMonth, endOfMonth))
-                .thenReturn(Collections.singletonMap(testCategory, new BigDecimal("200.00")));
+        when(dashboardService.getSummary(today)).thenReturn(summary);
 
         
         mockMvc.perform(get("/api/dashboard"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.totalExpenses", is(totalExpenses.doubleValue())))
-                .andExpect(jsonPath("$.currentMonthExpenses", is(monthlyExpenses.doubleValue())))
-                .andExpect(jsonPath("$.currentMonthBudget", is(totalBudget.doubleValue())))
+                .andExpect(jsonPath("$.totalExpenses", is(500.0)))
+                .andExpect(jsonPath("$.currentMonthExpenses", is(200.0)))
+                .andExpect(jsonPath("$.currentMonthBudget", is(1000.0)))
                 .andExpect(jsonPath("$.totalCategories", is(1)))
                 .andExpect(jsonPath("$.recentExpenses", hasSize(1)));
+
+        verifyNoInteractions(expenseService, budgetService);
     }
 
     @Test
@@ -134,21 +139,13 @@ class DashboardControllerTest {
     @Test
     void getOverview_ShouldReturnOverview() throws Exception {
         
-        BigDecimal totalSpent = new BigDecimal("500.00");
-        BigDecimal monthlySpent = new BigDecimal("200.00");
-        BigDecimal monthlyBudget = new BigDecimal("1000.00");
-
-        when(expenseService.findExpensesByCurrentUser()).thenReturn(Collections.singletonList(testExpense));
-        when(budgetService.findBudgetsByCurrentUser()).thenReturn(Collections.emptyList());
-        when(categoryService.findAllCategories()).thenReturn(Collections.singletonList(testCategory));
-
-        when(expenseService.getTotalExpensesForCurrentUser()).thenReturn(totalSpent);
-
-        LocalDate startOfMonth = LocalDate.of(today.getYear(), today.getMonthValue(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        when(expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth)).thenReturn(monthlySpent);
-
-        when(budgetService.getTotalBudgetForMonth(today.getYear(), today.getMonthValue())).thenReturn(monthlyBudget);
+        Map<String, Object> overview = new HashMap<>();
+        overview.put("totalExpenses", 1L);
+        overview.put("totalBudgets", 0L);
+        overview.put("totalCategories", 1L);
+        overview.put("totalSpent", new BigDecimal("500.00"));
+        overview.put("budgetUsagePercent", 20.0);
+        when(statsService.getOverview(today)).thenReturn(overview);
 
         
         mockMvc.perform(get("/api/dashboard/overview"))
@@ -156,17 +153,19 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.totalExpenses", is(1)))
                 .andExpect(jsonPath("$.totalBudgets", is(0)))
                 .andExpect(jsonPath("$.totalCategories", is(1)))
-                .andExpect(jsonPath("$.totalSpent", is(totalSpent.doubleValue())))
-                .andExpect(jsonPath("$.currentMonthBudget", is(monthlyBudget.doubleValue())))
-                .andExpect(jsonPath("$.currentMonthSpent", is(monthlySpent.doubleValue())))
+                .andExpect(jsonPath("$.totalSpent", is(500.0)))
                 .andExpect(jsonPath("$.budgetUsagePercent", is(20.0)));
+
+        verifyNoInteractions(expenseService, budgetService);
     }
 
     @Test
     void getRecentActivity_ShouldReturnRecentActivity() throws Exception {
         
-        List<ExpenseDto> recentExpenses = Collections.singletonList(testExpense);
-        when(expenseService.findExpensesByCurrentUser()).thenReturn(recentExpenses);
+        ExpensePageDto recentPage = new ExpensePageDto();
+        recentPage.setItems(Collections.singletonList(testExpense));
+        recentPage.setHasMore(false);
+        when(expenseService.findExpensePageByCurrentUser(null, 5)).thenReturn(recentPage);
 
         
         mockMvc.perform(get("/api/dashboard/recent-activity"))
@@ -175,22 +174,25 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.recentExpenses[0].id", is(testExpense.getId())))
                 .andExpect(jsonPath("$.recentExpenses[0].amount", is(testExpense.getAmount().doubleValue())))
                 .andExpect(jsonPath("$.recentExpenses[0].description", is(testExpense.getDescription())));
+
+        verify(expenseService, never()).findExpensesByCurrentUser();
     }
 
     @Test
     void getBudgetStatus_ShouldReturnBudgetStatus() throws Exception {
         
-        com.example.trackexpenses.dto.BudgetDto budgetDto = new com.example.trackexpenses.dto.BudgetDto();
-        budgetDto.setId(1);
-        budgetDto.setAmount(new BigDecimal("500.00"));
-        budgetDto.setCategory(testCategory);
-        budgetDto.setMonth(today.getMonthValue());
-        budgetDto.setYear(today.getYear());
-
-        List<com.example.trackexpenses.dto.BudgetDto> budgets = Collections.singletonList(budgetDto);
-        when(budgetService.findBudgetsByYearAndMonth(today.getYear(), today.getMonthValue())).thenReturn(budgets);
-
-        when(budgetService.getSpentAmountForBudget(budgetDto.getId())).thenReturn(new BigDecimal("100.00"));
+        BudgetStatusDto budgetStatus = new BudgetStatusDto();
+        budgetStatus.setBudgetId(1);
+        budgetStatus.setCategoryId(testCategory.getId());
+        budgetStatus.setCategory(testCategory.getName());
+        budgetStatus.setBudgetAmount(new BigDecimal("500.00"));
+        budgetStatus.setSpentAmount(new BigDecimal("100.00"));
+        budgetStatus.setRemainingAmount(new BigDecimal("400.00"));
+        budgetStatus.setUsagePercentage(20.0);
+        budgetStatus.setIsOverBudget(false);
+
+        when(budgetService.getBudgetStatusForMonth(today.getYear(), today.getMonthValue()))
+                .thenReturn(Collections.singletonList(budgetStatus));
 
         
         mockMvc.perform(get("/api/dashboard/budget-status"))
@@ -208,24 +210,39 @@ class DashboardControllerTest {
     void getSpendingTrends_ShouldReturnSpendingTrends() throws Exception {
         
         int months = 6;
-
-        
+        Map<String, BigDecimal> monthlySpending = new LinkedHashMap<>();
         for (int i = months - 1; i >= 0; i--) {
             LocalDate targetDate = today.minusMonths(i);
-            LocalDate startOfMonth = LocalDate.of(targetDate.getYear(), targetDate.getMonthValue(), 1);
-            LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-
-            BigDecimal monthTotal = new BigDecimal((i + 1) * 100);
-            when(expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth)).thenReturn(monthTotal);
+            String monthKey = targetDate.getYear() + "-" + String.format("%02d", targetDate.getMonthValue());
+            monthlySpending.put(monthKey, new BigDecimal((i + 1) * 100));
         }
 
+        SpendingTrendsDto trends = new SpendingTrendsDto();
+        trends.setMonths(months);
+        trends.setMonthlySpending(monthlySpending);
+        trends.setRollingAverage(monthlySpending);
+        trends.setAverageMonthlySpending(new BigDecimal("350.00"));
+        when(spendingTrendService.getSpendingTrends(eq(months), any(LocalDate.class))).thenReturn(trends);
+
         
         mockMvc.perform(get("/api/dashboard/trends/{months}", months))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.monthlySpending", aMapWithSize(months)))
+                .andExpect(jsonPath("$.rollingAverage", aMapWithSize(months)))
                 .andExpect(jsonPath("$.averageMonthlySpending").exists());
     }
 
+    @Test
+    void getSpendingTrends_ShouldReturnBadRequestWhenHorizonTooLong() throws Exception {
+        
+        when(spendingTrendService.getSpendingTrends(eq(10000), any(LocalDate.class)))
+                .thenThrow(new IllegalArgumentException("Months must be between 1 and 60"));
+
+        
+        mockMvc.perform(get("/api/dashboard/trends/{months}", 10000))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getCategoryBreakdown_ShouldReturnCategoryBreakdown() throws Exception {
         
@@ -1,9 +1,16 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.BulkImportErrorDto;
+import com.example.trackexpenses.dto.BulkImportResultDto;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.dto.ExpenseCreateDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.ExpensePageDto;
+import com.example.trackexpenses.service.ExpenseExportService;
+import com.example.trackexpenses.service.ExpenseImportService;
+import com.example.trackexpenses.service.ExpenseRollupService;
 import com.example.trackexpenses.service.ExpenseService;
+import com.example.trackexpenses.service.StatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +20,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -36,12 +48,24 @@ class ExpenseControllerTest {
 
     private ObjectMapper objectMapper;
 
+    @Mock
+    private StatsService statsService;
+
     @InjectMocks
     private ExpenseController expenseController;
 
     @Mock
     private ExpenseService expenseService;
 
+    @Mock
+    private ExpenseImportService expenseImportService;
+
+    @Mock
+    private ExpenseExportService expenseExportService;
+
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
     private ExpenseDto testExpense;
     private ExpenseCreateDto expenseCreateDto;
     private CategoryDto testCategory;
@@ -52,6 +76,7 @@ class ExpenseControllerTest {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
 
+        ReflectionTestUtils.setField(expenseController, "exportTimeout", Duration.ofMinutes(30));
         mockMvc = MockMvcBuilders.standaloneSetup(expenseController).build();
 
         testCategory = new CategoryDto();
@@ -89,6 +114,29 @@ class ExpenseControllerTest {
                 .andExpect(jsonPath("$[0].category.id", is(testCategory.getId())));
     }
 
+    @Test
+    void getExpensePage_ShouldReturnPageWithCursor() throws Exception {
+        ExpensePageDto page = new ExpensePageDto();
+        page.setItems(Collections.singletonList(testExpense));
+        page.setNextCursor("cursor");
+        page.setHasMore(true);
+        when(expenseService.findExpensePageByCurrentUser("abc", 10)).thenReturn(page);
+        mockMvc.perform(get("/api/expenses/page").param("after", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(testExpense.getId())))
+                .andExpect(jsonPath("$.nextCursor", is("cursor")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void getExpensePage_ShouldReturnBadRequestForInvalidCursor() throws Exception {
+        when(expenseService.findExpensePageByCurrentUser("bad", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+        mockMvc.perform(get("/api/expenses/page").param("after", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllExpensesAdmin_ShouldReturnAllExpenses() throws Exception {
         List<ExpenseDto> expenses = Collections.singletonList(testExpense);
@@ -145,6 +193,72 @@ class ExpenseControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importExpenses_ShouldReturnImportResult() throws Exception {
+        BulkImportResultDto result = new BulkImportResultDto();
+        result.setReceived(2L);
+        result.setImported(1L);
+        result.setFailed(1L);
+        result.getErrors().add(new BulkImportErrorDto(2L, "Category not found"));
+        when(expenseImportService.importExpenses(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/expenses/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(expenseCreateDto) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)))
+                .andExpect(jsonPath("$.errors[0].message", is("Category not found")));
+    }
+
+    @Test
+    void importExpenses_ShouldReturnBadRequestWhenServiceThrowsException() throws Exception {
+        when(expenseImportService.importExpenses(any())).thenThrow(new RuntimeException("User not authenticated"));
+
+        mockMvc.perform(post("/api/expenses/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportExpenses_ShouldStreamCsvAttachment() throws Exception {
+        StreamingResponseBody body = out -> out.write("id,date\n".getBytes());
+        when(expenseExportService.exportCurrentUserExpenses(ExpenseExportService.Format.CSV, today.minusDays(7), today))
+                .thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/api/expenses/export")
+                .param("from", today.minusDays(7).toString())
+                .param("to", today.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"expenses.csv\""))
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("id,date\n"));
+    }
+
+    @Test
+    void exportExpenses_ShouldReturnBadRequestForUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/expenses/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(expenseExportService, never()).exportCurrentUserExpenses(any(), any(), any());
+    }
+
+    @Test
+    void rebuildRollup_ShouldReturnRowCount() throws Exception {
+        when(expenseRollupService.rebuild()).thenReturn(42);
+
+        mockMvc.perform(post("/api/expenses/rollup/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rollupRows", is(42)));
+    }
+
     @Test
     void updateExpense_ShouldUpdateAndReturnExpense() throws Exception {
         
@@ -344,22 +458,19 @@ class ExpenseControllerTest {
     @Test
     void getExpenseStats_ShouldReturnExpenseStatistics() throws Exception {
         
-        List<ExpenseDto> expenses = Arrays.asList(testExpense, testExpense);
-        BigDecimal totalAmount = new BigDecimal("200.00");
-        BigDecimal currentMonthAmount = new BigDecimal("100.00");
-
-        when(expenseService.findExpensesByCurrentUser()).thenReturn(expenses);
-        when(expenseService.getTotalExpensesForCurrentUser()).thenReturn(totalAmount);
-
-        LocalDate startOfMonth = LocalDate.of(today.getYear(), today.getMonthValue(), 1);
-        LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-        when(expenseService.getTotalExpensesForPeriod(startOfMonth, endOfMonth)).thenReturn(currentMonthAmount);
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalExpenses", 2L);
+        stats.put("totalAmount", new BigDecimal("200.00"));
+        stats.put("currentMonthAmount", new BigDecimal("100.00"));
+        when(statsService.getExpenseStats(today)).thenReturn(stats);
 
         
         mockMvc.perform(get("/api/expenses/stats"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalExpenses", is(2)))
-                .andExpect(jsonPath("$.totalAmount", is(totalAmount.doubleValue())))
-                .andExpect(jsonPath("$.currentMonthAmount", is(currentMonthAmount.doubleValue())));
+                .andExpect(jsonPath("$.totalAmount", is(200.0)))
+                .andExpect(jsonPath("$.currentMonthAmount", is(100.0)));
+
+        verify(expenseService, never()).findExpensesByCurrentUser();
     }
 }
@@ -1,14 +1,16 @@
 package com.example.trackexpenses.controller;
 
-import com.example.trackexpenses.entity.Budget;
+import com.example.trackexpenses.dto.PurgeJobDto;
+import com.example.trackexpenses.dto.SyntheticDataResultDto;
 import com.example.trackexpenses.entity.Category;
-import com.example.trackexpenses.entity.Expense;
-import com.example.trackexpenses.entity.Role;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.BudgetRepository;
 import com.example.trackexpenses.repository.CategoryRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
 import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.DataPurgeService;
+import com.example.trackexpenses.service.DataSeedService;
+import com.example.trackexpenses.service.SyntheticDataGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,20 +20,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -57,7 +56,13 @@ class InitControllerTest {
     private BudgetRepository budgetRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private DataSeedService dataSeedService;
+
+    @Mock
+    private DataPurgeService dataPurgeService;
+
+    @Mock
+    private SyntheticDataGenerator syntheticDataGenerator;
 
     @InjectMocks
     private InitController initController;
@@ -70,19 +75,19 @@ class InitControllerTest {
     @Test
     void initializeAllData_ShouldReturnSuccessResponse() throws Exception {
         
-        doNothing().when(expenseRepository).deleteAll();
-        doNothing().when(budgetRepository).deleteAll();
-        when(categoryRepository.findByName(anyString())).thenReturn(Optional.empty());
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(categoryRepository.save(any(Category.class))).thenReturn(new Category());
-        when(userRepository.save(any(User.class))).thenReturn(new User());
-        when(expenseRepository.save(any(Expense.class))).thenReturn(new Expense());
-        when(budgetRepository.save(any(Budget.class))).thenReturn(new Budget());
-        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(any(), any(), any(), any())).thenReturn(Optional.empty());
+        User testUser = new User();
+        testUser.setId(2);
+        testUser.setUsername("testuser");
+
+        when(dataSeedService.seedCategories()).thenReturn(8);
+        when(dataSeedService.seedUsers()).thenReturn(3);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(new Category()));
+        when(dataSeedService.seedExpenses(2, 5)).thenReturn(70L);
+        when(dataSeedService.seedBudgets(2, 5)).thenReturn(22);
 
         
-        mockMvc.perform(post("/api/init/all"))
+        mockMvc.perform(post("/api/init/all").param("scale", "5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("SUCCESS"))
                 .andExpect(jsonPath("$.categories").value("✅ Categories initialized"))
@@ -90,12 +95,16 @@ class InitControllerTest {
                 .andExpect(jsonPath("$.expenses").value("✅ Sample expenses created"))
                 .andExpect(jsonPath("$.budgets").value("✅ Sample budgets created"))
                 .andExpect(jsonPath("$.message").value("All mock data initialized successfully!"));
+
+        
+        verify(dataSeedService).seedExpenses(2, 5);
+        verify(dataSeedService).seedBudgets(2, 5);
     }
 
     @Test
     void initializeAllData_ShouldReturnErrorResponseWhenExceptionOccurs() throws Exception {
         
-        when(categoryRepository.findByName(anyString())).thenThrow(new RuntimeException("Test exception"));
+        when(dataSeedService.seedCategories()).thenThrow(new RuntimeException("Test exception"));
 
         
         mockMvc.perform(post("/api/init/all"))
@@ -104,69 +113,70 @@ class InitControllerTest {
                 .andExpect(jsonPath("$.message").value(containsString("Error initializing data")));
     }
 
+    @Test
+    void initializeAllData_ShouldReturnBadRequestWhenScaleIsNotPositive() throws Exception {
+        
+        mockMvc.perform(post("/api/init/all").param("scale", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("ERROR"));
+
+        
+        verifyNoInteractions(dataSeedService);
+    }
+
     @Test
     void initializeCategories_ShouldReturnSuccessResponse() throws Exception {
         
-        when(categoryRepository.findByName(anyString())).thenReturn(Optional.empty());
-        when(categoryRepository.save(any(Category.class))).thenReturn(new Category());
+        when(dataSeedService.seedCategories()).thenReturn(8);
 
         
         mockMvc.perform(post("/api/init/categories"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("Categories initialized")));
-
-        
-        verify(categoryRepository, times(8)).save(any(Category.class));
+                .andExpect(content().string(containsString("Categories initialized: 8 new categories created")));
     }
 
     @Test
     void initializeUsers_ShouldReturnSuccessResponse() throws Exception {
         
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(new User());
+        when(dataSeedService.seedUsers()).thenReturn(3);
 
         
         mockMvc.perform(post("/api/init/users"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("Users initialized: 3 new users created")));
-
-        
-        verify(userRepository, times(3)).save(any(User.class));
     }
 
     @Test
     void initializeExpenses_ShouldReturnSuccessResponse() throws Exception {
         
         User testUser = new User();
+        testUser.setId(2);
         testUser.setUsername("testuser");
 
-        Category foodCategory = new Category();
-        foodCategory.setName("Food");
-
-        Category transportCategory = new Category();
-        transportCategory.setName("Transportation");
-
-        Category entertainmentCategory = new Category();
-        entertainmentCategory.setName("Entertainment");
-
-        Category billsCategory = new Category();
-        billsCategory.setName("Bills");
-
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(foodCategory));
-        when(categoryRepository.findByName("Transportation")).thenReturn(Optional.of(transportCategory));
-        when(categoryRepository.findByName("Entertainment")).thenReturn(Optional.of(entertainmentCategory));
-        when(categoryRepository.findByName("Bills")).thenReturn(Optional.of(billsCategory));
-        when(expenseRepository.save(any(Expense.class))).thenReturn(new Expense());
+        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(new Category()));
+        when(dataSeedService.seedExpenses(2, 1)).thenReturn(14L);
 
         
         mockMvc.perform(post("/api/init/expenses"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("Sample expenses created")));
+                .andExpect(content().string(containsString("Sample expenses created: 14 expenses added")));
+    }
+
+    @Test
+    void initializeExpenses_ShouldPassScaleToSeeder() throws Exception {
+        
+        User testUser = new User();
+        testUser.setId(2);
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(new Category()));
+        when(dataSeedService.seedExpenses(2, 100000)).thenReturn(1400000L);
 
         
-        verify(expenseRepository, times(14)).save(any(Expense.class));
+        mockMvc.perform(post("/api/init/expenses").param("scale", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("1400000 expenses added")));
     }
 
     @Test
@@ -180,7 +190,7 @@ class InitControllerTest {
                 .andExpect(content().string(containsString("Test user not found")));
 
         
-        verify(expenseRepository, never()).save(any(Expense.class));
+        verify(dataSeedService, never()).seedExpenses(any(), anyInt());
     }
 
     @Test
@@ -198,42 +208,35 @@ class InitControllerTest {
                 .andExpect(content().string(containsString("Categories not found")));
 
         
-        verify(expenseRepository, never()).save(any(Expense.class));
+        verify(dataSeedService, never()).seedExpenses(any(), anyInt());
+    }
+
+    @Test
+    void initializeExpenses_ShouldReturnBadRequestWhenScaleIsNotPositive() throws Exception {
+        
+        mockMvc.perform(post("/api/init/expenses").param("scale", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("Scale must be positive")));
+
+        
+        verify(dataSeedService, never()).seedExpenses(any(), anyInt());
     }
 
     @Test
     void initializeBudgets_ShouldReturnSuccessResponse() throws Exception {
         
         User testUser = new User();
+        testUser.setId(2);
         testUser.setUsername("testuser");
 
-        Category foodCategory = new Category();
-        foodCategory.setName("Food");
-
-        Category transportCategory = new Category();
-        transportCategory.setName("Transportation");
-
-        Category entertainmentCategory = new Category();
-        entertainmentCategory.setName("Entertainment");
-
-        Category billsCategory = new Category();
-        billsCategory.setName("Bills");
-
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(foodCategory));
-        when(categoryRepository.findByName("Transportation")).thenReturn(Optional.of(transportCategory));
-        when(categoryRepository.findByName("Entertainment")).thenReturn(Optional.of(entertainmentCategory));
-        when(categoryRepository.findByName("Bills")).thenReturn(Optional.of(billsCategory));
-        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(any(), any(), any(), any())).thenReturn(Optional.empty());
-        when(budgetRepository.save(any(Budget.class))).thenReturn(new Budget());
+        when(categoryRepository.findByName("Food")).thenReturn(Optional.of(new Category()));
+        when(dataSeedService.seedBudgets(2, 1)).thenReturn(6);
 
         
         mockMvc.perform(post("/api/init/budgets"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("Sample budgets created")));
-
-        
-        verify(budgetRepository, times(6)).save(any(Budget.class));
+                .andExpect(content().string(containsString("Sample budgets created: 6 budgets added")));
     }
 
     @Test
@@ -247,7 +250,7 @@ class InitControllerTest {
                 .andExpect(content().string(containsString("Test user not found")));
 
         
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(dataSeedService, never()).seedBudgets(any(), anyInt());
     }
 
     @Test
@@ -265,34 +268,86 @@ class InitControllerTest {
                 .andExpect(content().string(containsString("Categories not found")));
 
         
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(dataSeedService, never()).seedBudgets(any(), anyInt());
     }
 
     @Test
-    void clearAllData_ShouldReturnSuccessResponse() throws Exception {
+    void generateSyntheticData_ShouldReturnGeneratedCounts() throws Exception {
         
-        doNothing().when(expenseRepository).deleteAll();
-        doNothing().when(budgetRepository).deleteAll();
+        SyntheticDataResultDto result = new SyntheticDataResultDto();
+        result.setUsers(10);
+        result.setExpenses(2000L);
+        result.setBudgets(1800L);
+        when(syntheticDataGenerator.generate(10, 200, 3, 7L)).thenReturn(result);
 
         
-        mockMvc.perform(post("/api/init/clear"))
+        mockMvc.perform(post("/api/init/generate")
+                        .param("users", "10")
+                        .param("seed", "7"))
                 .andExpect(status().isOk())
-                .andExpect(content().string(containsString("All expenses and budgets cleared successfully")));
+                .andExpect(jsonPath("$.users").value(10))
+                .andExpect(jsonPath("$.expenses").value(2000))
+                .andExpect(jsonPath("$.budgets").value(1800));
+    }
+
+    @Test
+    void generateSyntheticData_ShouldReturnBadRequestWhenGeneratorFails() throws Exception {
+        
+        when(syntheticDataGenerator.generate(anyInt(), anyInt(), anyInt(), anyLong()))
+                .thenThrow(new RuntimeException("Categories not found. Initialize categories first."));
 
         
-        verify(expenseRepository).deleteAll();
-        verify(budgetRepository).deleteAll();
+        mockMvc.perform(post("/api/init/generate"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
-    void clearAllData_ShouldReturnErrorResponseWhenExceptionOccurs() throws Exception {
+    void clearAllData_ShouldStartBackgroundJob() throws Exception {
         
-        doThrow(new RuntimeException("Test exception")).when(expenseRepository).deleteAll();
+        PurgeJobDto job = new PurgeJobDto();
+        job.setId("job-1");
+        job.setType("CLEAR_ALL");
+        job.setStatus("PENDING");
+        when(dataPurgeService.startClearAll()).thenReturn(job);
 
         
         mockMvc.perform(post("/api/init/clear"))
-                .andExpect(status().isInternalServerError())
-                .andExpect(content().string(containsString("Error clearing data")));
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.type").value("CLEAR_ALL"));
+
+        
+        verify(dataPurgeService).startClearAll();
+        verify(expenseRepository, never()).deleteAll();
+        verify(budgetRepository, never()).deleteAll();
+    }
+
+    @Test
+    void getClearJob_ShouldReturnProgress() throws Exception {
+        
+        PurgeJobDto job = new PurgeJobDto();
+        job.setId("job-1");
+        job.setStatus("COMPLETED");
+        job.setExpensesDeleted(14L);
+        job.setBudgetsDeleted(6L);
+        when(dataPurgeService.findJob("job-1")).thenReturn(Optional.of(job));
+
+        
+        mockMvc.perform(get("/api/init/clear/{jobId}", "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.expensesDeleted").value(14))
+                .andExpect(jsonPath("$.budgetsDeleted").value(6));
+    }
+
+    @Test
+    void getClearJob_ShouldReturnNotFoundForUnknownJob() throws Exception {
+        
+        when(dataPurgeService.findJob("missing")).thenReturn(Optional.empty());
+
+        
+        mockMvc.perform(get("/api/init/clear/{jobId}", "missing"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -1,9 +1,11 @@
 package com.example.trackexpenses.controller;
 
+import com.example.trackexpenses.dto.PurgeJobDto;
 import com.example.trackexpenses.dto.UserDto;
 import com.example.trackexpenses.entity.Role;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.service.UserService;
+import com.example.trackexpenses.service.StatsService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,7 +27,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
@@ -46,6 +50,9 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private StatsService statsService;
+
     @InjectMocks
     private UserController userController;
 
@@ -259,11 +266,16 @@ class UserControllerTest {
         setupAdminSecurityContext();
 
         
-        doNothing().when(userService).deleteUser(testUserDto.getId());
+        PurgeJobDto job = new PurgeJobDto();
+        job.setId("job-1");
+        job.setStatus("PENDING");
+        when(userService.deleteUser(testUserDto.getId())).thenReturn(job);
 
         
         mockMvc.perform(delete("/api/users/{id}", testUserDto.getId()))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is("job-1")))
+                .andExpect(jsonPath("$.status", is("PENDING")));
 
         verify(userService).deleteUser(testUserDto.getId());
     }
@@ -282,25 +294,49 @@ class UserControllerTest {
     }
 
     @Test
-    void getUserStats_ShouldReturnUserStatistics() throws Exception {
+    void getPurgeJob_ShouldReturnJobProgress() throws Exception {
         
         setupAdminSecurityContext();
+        PurgeJobDto job = new PurgeJobDto();
+        job.setId("job-1");
+        job.setStatus("RUNNING");
+        job.setExpensesDeleted(5000L);
+        when(userService.findPurgeJob("job-1")).thenReturn(Optional.of(job));
 
         
-        UserDto user2 = new UserDto();
-        user2.setId(2);
-        user2.setUsername("user2");
-        user2.setEmail("user2@example.com");
-        user2.setRole(Role.USER);
-        user2.setIsActive(false);
+        mockMvc.perform(get("/api/users/purge-jobs/{jobId}", "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RUNNING")))
+                .andExpect(jsonPath("$.expensesDeleted", is(5000)));
+    }
 
-        List<UserDto> users = Arrays.asList(testUserDto, user2);
-        when(userService.findAllUsers()).thenReturn(users);
+    @Test
+    void getPurgeJob_ShouldReturnNotFoundForUnknownJob() throws Exception {
+        
+        setupAdminSecurityContext();
+        when(userService.findPurgeJob("missing")).thenReturn(Optional.empty());
+
+        
+        mockMvc.perform(get("/api/users/purge-jobs/{jobId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUserStats_ShouldReturnUserStatistics() throws Exception {
+        
+        setupAdminSecurityContext();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalUsers", 2L);
+        stats.put("activeUsers", 1L);
+        when(statsService.getUserStats()).thenReturn(stats);
 
         
         mockMvc.perform(get("/api/users/stats"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalUsers", is(2)))
                 .andExpect(jsonPath("$.activeUsers", is(1)));
+
+        verify(userService, never()).findAllUsers();
     }
 }
@@ -0,0 +1,158 @@
+package com.example.trackexpenses.filter;
+
+import com.example.trackexpenses.entity.Role;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.CustomUserDetailsService;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
+import com.example.trackexpenses.service.RevokedUserRegistry;
+import com.example.trackexpenses.util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtUtil jwtUtil;
+    private RevokedUserRegistry revokedUserRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", "testSecretKey12345678901234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60000);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", 16);
+        jwtUtil.init();
+
+        revokedUserRegistry = new RevokedUserRegistry(userRepository);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, revokedUserRegistry);
+        ReflectionTestUtils.setField(filter, "stateless", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void statelessMode_ShouldAuthenticateFromClaimsWithoutDatabase() throws Exception {
+        
+        String token = jwtUtil.generateToken(5, "testuser", Role.ADMIN, true);
+
+        
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(5, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessMode_ShouldRejectRevokedUser() throws Exception {
+        
+        String token = jwtUtil.generateToken(5, "testuser", Role.USER, true);
+        revokedUserRegistry.revoke(5);
+
+        
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void statelessMode_ShouldRejectInactiveClaim() throws Exception {
+        
+        String token = jwtUtil.generateToken(5, "testuser", Role.USER, false);
+
+        
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void statelessMode_ShouldFallBackToDatabaseForLegacyToken() throws Exception {
+        
+        User user = new User();
+        user.setId(5);
+        user.setUsername("testuser");
+        user.setRole(Role.USER);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(UserPrincipal.create(user));
+        String token = jwtUtil.generateToken("testuser");
+
+        
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void databaseMode_ShouldLoadUser() throws Exception {
+        
+        ReflectionTestUtils.setField(filter, "stateless", false);
+        User user = new User();
+        user.setId(5);
+        user.setUsername("testuser");
+        user.setRole(Role.USER);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(UserPrincipal.create(user));
+        String token = jwtUtil.generateToken(5, "testuser", Role.USER, true);
+
+        
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void invalidToken_ShouldLeaveContextEmpty() throws Exception {
+        
+        filter.doFilter(requestWithToken("malformed.token.value"), new MockHttpServletResponse(), new MockFilterChain());
+
+        
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.trackexpenses.repository;
+
+import com.example.trackexpenses.dto.BudgetDto;
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.Budget;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.service.BudgetService;
+import com.example.trackexpenses.service.CategoryService;
+import com.example.trackexpenses.service.ExpenseArchiveService;
+import com.example.trackexpenses.service.ExpenseRollupService;
+import com.example.trackexpenses.service.ExpenseService;
+import com.example.trackexpenses.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sprawdza plan pobierania list wydatków i budżetów: kategorie są dociągane w tym samym zapytaniu,
+ * więc liczba wykonanych instrukcji SQL nie zależy od liczby wierszy (brak problemu N+1).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:fetchplan;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FetchPlanStatementCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private final UserService userService = mock(UserService.class);
+
+    private ExpenseService expenseService;
+    private BudgetService budgetService;
+    private Statistics statistics;
+    private int userCounter;
+
+    @BeforeEach
+    void setUp() {
+        CategoryService categoryService = mock(CategoryService.class);
+        ExpenseDailyRollupRepository rollupRepository = mock(ExpenseDailyRollupRepository.class);
+        // Archiwum jest puste, więc odczyty nie sięgają do expenses_archive
+        expenseService = new ExpenseService(expenseRepository, userService, categoryService,
+                new ExpenseRollupService(rollupRepository), rollupRepository,
+                mock(ExpenseArchiveService.class), mock(ArchivedExpenseRepository.class));
+        budgetService = new BudgetService(budgetRepository, expenseRepository, userService, categoryService);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findExpensesByCurrentUser_ShouldIssueSameNumberOfStatementsRegardlessOfRowCount() {
+        User smallUser = persistUserWithData(3);
+        User largeUser = persistUserWithData(60);
+
+        long smallStatements = countStatements(smallUser, () -> {
+            List<ExpenseDto> expenses = expenseService.findExpensesByCurrentUser();
+            assertEquals(3, expenses.size());
+        });
+        long largeStatements = countStatements(largeUser, () -> {
+            List<ExpenseDto> expenses = expenseService.findExpensesByCurrentUser();
+            assertEquals(60, expenses.size());
+        });
+
+        assertEquals(1, smallStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    void findBudgetsByCurrentUser_ShouldIssueSameNumberOfStatementsRegardlessOfRowCount() {
+        User smallUser = persistUserWithData(2);
+        User largeUser = persistUserWithData(12);
+
+        long smallStatements = countStatements(smallUser, () -> {
+            List<BudgetDto> budgets = budgetService.findBudgetsByCurrentUser();
+            assertEquals(2, budgets.size());
+        });
+        long largeStatements = countStatements(largeUser, () -> {
+            List<BudgetDto> budgets = budgetService.findBudgetsByCurrentUser();
+            assertEquals(12, budgets.size());
+        });
+
+        assertEquals(1, smallStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    private long countStatements(User user, Runnable query) {
+        entityManager.flush();
+        entityManager.clear();
+        when(userService.getCurrentUser()).thenReturn(user);
+        statistics.clear();
+
+        query.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Każdy wydatek i budżet dostaje osobną kategorię, żeby leniwe ładowanie kategorii
+     * dawało jedno dodatkowe zapytanie na wiersz.
+     */
+    private User persistUserWithData(int rows) {
+        userCounter++;
+        User user = new User();
+        user.setUsername("user" + userCounter);
+        user.setEmail("user" + userCounter + "@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        for (int i = 0; i < rows; i++) {
+            Category category = new Category();
+            category.setName("Category " + userCounter + "-" + i);
+            entityManager.persist(category);
+
+            Expense expense = new Expense();
+            expense.setAmount(new BigDecimal("10.00"));
+            expense.setDescription("Expense " + i);
+            expense.setDate(LocalDate.of(2024, 1, 1).plusDays(i));
+            expense.setCategory(category);
+            expense.setUser(user);
+            entityManager.persist(expense);
+
+            Budget budget = new Budget();
+            budget.setAmount(new BigDecimal("100.00"));
+            budget.setCategory(category);
+            budget.setUser(user);
+            budget.setYear(2024);
+            budget.setMonth(i % 12 + 1);
+            entityManager.persist(budget);
+        }
+        return user;
+    }
+}
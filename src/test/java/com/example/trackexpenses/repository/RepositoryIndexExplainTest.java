@@ -0,0 +1,184 @@
+package com.example.trackexpenses.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sprawdza planami EXPLAIN na lokalnym PostgreSQL, że zapytania repozytoriów korzystają z indeksów z migracji V5
+ * (na partycjach tabeli expenses z V6 – ich indeksów potomnych) i że zakres dat zawęża skan do właściwych partycji.
+ * Zapytania SQL odpowiadają zapytaniom JPQL z {@link ExpenseRepository} i {@link BudgetRepository}.
+ * <p>
+ * Test uruchamia się tylko po wskazaniu osobnej bazy, na której wykonywane są migracje Flyway, np.
+ * {@code POSTGRES_EXPLAIN_TEST_URL=jdbc:postgresql://localhost:5432/expense_tracker_explain ./mvnw test}.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=${POSTGRES_EXPLAIN_TEST_URL}",
+        "spring.datasource.username=${POSTGRES_EXPLAIN_TEST_USERNAME:expense_user}",
+        "spring.datasource.password=${POSTGRES_EXPLAIN_TEST_PASSWORD:password}",
+        "spring.flyway.enabled=true"
+})
+@EnabledIfEnvironmentVariable(named = "POSTGRES_EXPLAIN_TEST_URL", matches = "jdbc:postgresql:.+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexExplainTest {
+
+    private static final String USER_PREFIX = "explain-user-";
+    private static final int USERS = 50;
+    private static final int EXPENSES_PER_USER = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int userId;
+    private int categoryId;
+
+    /**
+     * Kilkadziesiąt tysięcy wydatków i budżetów rozłożonych na użytkowników, kategorie i lata,
+     * żeby planer miał realistyczne statystyki. VACUUM uzupełnia mapę widoczności dla skanów samego indeksu.
+     */
+    @BeforeAll
+    void seedData() {
+        jdbcTemplate.update("DELETE FROM expense_daily_rollup WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM expenses WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM budgets WHERE user_id IN (SELECT id FROM users WHERE username LIKE ?)",
+                USER_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USER_PREFIX + "%");
+
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role) " +
+                "SELECT ? || g, ? || g || '@example.com', 'secret', 'USER' FROM generate_series(1, ?) g",
+                USER_PREFIX, USER_PREFIX, USERS);
+        jdbcTemplate.update("INSERT INTO expenses (amount, description, date, category_id, user_id) " +
+                "SELECT round((random() * 500)::numeric, 2), 'Expense ' || g, " +
+                "DATE '2020-01-01' + (random() * 1825)::int, c.ids[1 + g % array_length(c.ids, 1)], u.id " +
+                "FROM users u CROSS JOIN generate_series(1, ?) g " +
+                "CROSS JOIN (SELECT array_agg(id ORDER BY id) AS ids FROM categories) c " +
+                "WHERE u.username LIKE ?", EXPENSES_PER_USER, USER_PREFIX + "%");
+        // Lata 2020-2024 trafiają najpierw do partycji domyślnej - tak jak po imporcie starych danych
+        jdbcTemplate.queryForObject("SELECT split_expenses_default_partition()", Integer.class);
+        jdbcTemplate.update("INSERT INTO budgets (amount, category_id, user_id, month, year) " +
+                "SELECT 1000, c.id, u.id, m, y FROM users u CROSS JOIN categories c " +
+                "CROSS JOIN generate_series(1, 12) m CROSS JOIN generate_series(2020, 2024) y " +
+                "WHERE u.username LIKE ?", USER_PREFIX + "%");
+        jdbcTemplate.execute("VACUUM ANALYZE expenses");
+        jdbcTemplate.execute("VACUUM ANALYZE budgets");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Integer.class, USER_PREFIX + 1);
+        categoryId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM categories", Integer.class);
+    }
+
+    @Test
+    void findDtosByUserIdAndDateBetween_ShouldUseUserDateIndex() {
+        String plan = explain("SELECT e.id, e.amount, e.description, e.date, c.id, c.name FROM expenses e " +
+                "JOIN categories c ON c.id = e.category_id " +
+                "WHERE e.user_id = ? AND e.date BETWEEN DATE '2023-01-01' AND DATE '2023-01-31' " +
+                "ORDER BY e.date DESC, e.id DESC", userId);
+
+        assertUsesIndex(plan, "idx_expenses_user_date_id_cover");
+    }
+
+    @Test
+    void findDtoPageByUserIdAfterCursor_ShouldUseUserDateIndex() {
+        String plan = explain("SELECT e.id, e.amount, e.description, e.date FROM expenses e " +
+                "WHERE e.user_id = ? AND (e.date < DATE '2023-06-01' OR (e.date = DATE '2023-06-01' AND e.id < 1000000)) " +
+                "ORDER BY e.date DESC, e.id DESC LIMIT 20", userId);
+
+        assertUsesIndex(plan, "idx_expenses_user_date_id_cover");
+    }
+
+    @Test
+    void findDtosByUserIdAndCategoryId_ShouldUseUserCategoryIndex() {
+        String plan = explain("SELECT e.id, e.amount, e.description, e.date FROM expenses e " +
+                "WHERE e.user_id = ? AND e.category_id = ? ORDER BY e.date DESC, e.id DESC", userId, categoryId);
+
+        assertUsesIndex(plan, "idx_expenses_user_category_date");
+    }
+
+    @Test
+    void findDtosByUserIdAndAmountBetween_ShouldUseUserAmountIndex() {
+        String plan = explain("SELECT e.id, e.amount, e.description, e.date FROM expenses e " +
+                "WHERE e.user_id = ? AND e.amount BETWEEN 100 AND 105 ORDER BY e.date DESC, e.id DESC", userId);
+
+        assertUsesIndex(plan, "idx_expenses_user_amount");
+    }
+
+    @Test
+    void sumAmountByUserAndDateBetween_ShouldUseIndexOnlyScan() {
+        String plan = explain("SELECT SUM(e.amount) FROM expenses e " +
+                "WHERE e.user_id = ? AND e.date BETWEEN DATE '2023-01-01' AND DATE '2023-12-31'", userId);
+
+        assertUsesIndex(plan, "idx_expenses_user_date_id_cover");
+        assertTrue(plan.contains("Index Only Scan"), plan);
+    }
+
+    @Test
+    void sumAmountByUserAndCategoryAndDateBetween_ShouldUseIndexOnlyScan() {
+        String plan = explain("SELECT SUM(e.amount) FROM expenses e " +
+                "WHERE e.user_id = ? AND e.category_id = ? AND e.date BETWEEN DATE '2023-05-01' AND DATE '2023-05-31'",
+                userId, categoryId);
+
+        assertUsesIndex(plan, "idx_expenses_user_category_date");
+        assertTrue(plan.contains("Index Only Scan"), plan);
+    }
+
+    @Test
+    void findDtosByUserIdAndDateBetween_ShouldScanOnlyPartitionsOfTheRange() {
+        String plan = explain("SELECT e.id, e.amount, e.description, e.date FROM expenses e " +
+                "WHERE e.user_id = ? AND e.date BETWEEN DATE '2023-01-01' AND DATE '2023-02-28'", userId);
+
+        assertTrue(plan.contains("expenses_y2023m01"), plan);
+        assertTrue(plan.contains("expenses_y2023m02"), plan);
+        assertFalse(plan.contains("expenses_y2022m12"), plan);
+        assertFalse(plan.contains("expenses_y2023m03"), plan);
+        assertFalse(plan.contains("expenses_default"), plan);
+    }
+
+    @Test
+    void findByUserAndYearAndMonth_ShouldUseUserYearMonthIndex() {
+        String plan = explain("SELECT b.id, b.amount, b.category_id FROM budgets b " +
+                "WHERE b.user_id = ? AND b.year = 2023 AND b.month = 5", userId);
+
+        assertUsesIndex(plan, "idx_budgets_user_year_month");
+    }
+
+    @Test
+    void findByUserAndCategoryAndYearAndMonth_ShouldUseUniqueConstraintIndex() {
+        String plan = explain("SELECT b.id, b.amount FROM budgets b " +
+                "WHERE b.user_id = ? AND b.category_id = ? AND b.year = 2023 AND b.month = 5", userId, categoryId);
+
+        assertUsesIndex(plan, "uq_budgets_user_category_period");
+    }
+
+    private String explain(String sql, Object... args) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args);
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Na tabeli partycjonowanej plan wskazuje indeksy partycji, a nie indeks tabeli nadrzędnej.
+     */
+    private void assertUsesIndex(String plan, String indexName) {
+        List<String> names = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass", String.class, indexName);
+        assertTrue(plan.contains(indexName) || names.stream().anyMatch(plan::contains), plan);
+        assertFalse(plan.contains("Seq Scan on expenses"), plan);
+        assertFalse(plan.contains("Seq Scan on budgets"), plan);
+    }
+}
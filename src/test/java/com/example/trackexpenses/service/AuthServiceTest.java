@@ -83,6 +83,7 @@ class AuthServiceTest {
         userDto.setUsername("newuser");
         userDto.setEmail("newuser@example.com");
         userDto.setRole(Role.USER);
+        userDto.setIsActive(true);
     }
 
     @Test
@@ -90,7 +91,7 @@ class AuthServiceTest {
         
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtil.generateToken(anyString())).thenReturn(testToken);
+        when(jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole(), true)).thenReturn(testToken);
         when(userRepository.findByUsername(loginDto.getUsername())).thenReturn(Optional.of(user));
 
         
@@ -105,7 +106,7 @@ class AuthServiceTest {
         assertEquals(user.getRole(), response.getRole());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken(loginDto.getUsername());
+        verify(jwtUtil).generateToken(user.getId(), user.getUsername(), user.getRole(), true);
         verify(userRepository).findByUsername(loginDto.getUsername());
     }
 
@@ -113,14 +114,13 @@ class AuthServiceTest {
     void login_ShouldThrowExceptionWhenUserNotFound() {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtil.generateToken(anyString())).thenReturn(testToken);
         when(userRepository.findByUsername(loginDto.getUsername())).thenReturn(Optional.empty());
 
 
         assertThrows(RuntimeException.class, () -> authService.login(loginDto));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken(loginDto.getUsername());
+        verify(jwtUtil, never()).generateToken(anyInt(), anyString(), any(Role.class), anyBoolean());
         verify(userRepository).findByUsername(loginDto.getUsername());
     }
 
@@ -130,7 +130,7 @@ class AuthServiceTest {
         when(userRepository.findByEmail(registrationDto.getEmail())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(registrationDto.getPassword())).thenReturn("encodedPassword");
         when(userService.registerUser(any(UserRegistrationDto.class))).thenReturn(userDto);
-        when(jwtUtil.generateToken(userDto.getUsername())).thenReturn(testToken);
+        when(jwtUtil.generateToken(userDto.getId(), userDto.getUsername(), userDto.getRole(), true)).thenReturn(testToken);
 
         LoginResponseDto response = authService.register(registrationDto);
 
@@ -145,7 +145,7 @@ class AuthServiceTest {
         verify(userRepository).findByEmail(registrationDto.getEmail());
         verify(passwordEncoder).encode("password");
         verify(userService).registerUser(any(UserRegistrationDto.class));
-        verify(jwtUtil).generateToken(userDto.getUsername());
+        verify(jwtUtil).generateToken(userDto.getId(), userDto.getUsername(), userDto.getRole(), true);
     }
 
     @Test
@@ -160,7 +160,7 @@ class AuthServiceTest {
         verify(userRepository, never()).findByEmail(anyString());
         verify(passwordEncoder, never()).encode(anyString());
         verify(userService, never()).registerUser(any(UserRegistrationDto.class));
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyInt(), anyString(), any(Role.class), anyBoolean());
     }
 
     @Test
@@ -176,6 +176,6 @@ class AuthServiceTest {
         verify(userRepository).findByEmail(registrationDto.getEmail());
         verify(passwordEncoder, never()).encode(anyString());
         verify(userService, never()).registerUser(any(UserRegistrationDto.class));
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyInt(), anyString(), any(Role.class), anyBoolean());
     }
 }
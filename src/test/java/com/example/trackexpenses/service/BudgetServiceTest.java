@@ -2,11 +2,13 @@ package com.example.trackexpenses.service;
 
 import com.example.trackexpenses.dto.BudgetCreateDto;
 import com.example.trackexpenses.dto.BudgetDto;
+import com.example.trackexpenses.dto.BudgetStatusDto;
 import com.example.trackexpenses.entity.Budget;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.BudgetRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -236,10 +239,7 @@ class BudgetServiceTest {
         
         when(userService.getCurrentUser()).thenReturn(testUser);
         when(categoryService.findCategoryById(budgetCreateDto.getCategoryId())).thenReturn(testCategory);
-        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(
-                testUser, testCategory, budgetCreateDto.getYear(), budgetCreateDto.getMonth()))
-                .thenReturn(Optional.empty());
-        when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> {
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenAnswer(invocation -> {
             Budget savedBudget = invocation.getArgument(0);
             savedBudget.setId(1);
             return savedBudget;
@@ -256,7 +256,8 @@ class BudgetServiceTest {
         assertEquals(budgetCreateDto.getYear(), result.getYear());
 
         ArgumentCaptor<Budget> budgetCaptor = ArgumentCaptor.forClass(Budget.class);
-        verify(budgetRepository).save(budgetCaptor.capture());
+        verify(budgetRepository).saveAndFlush(budgetCaptor.capture());
+        verify(budgetRepository, never()).findByUserAndCategoryAndYearAndMonth(any(), any(), any(), any());
         Budget savedBudget = budgetCaptor.getValue();
         assertEquals(budgetCreateDto.getAmount(), savedBudget.getAmount());
         assertEquals(testCategory, savedBudget.getCategory());
@@ -273,7 +274,7 @@ class BudgetServiceTest {
 
         
         assertThrows(RuntimeException.class, () -> budgetService.createBudget(budgetCreateDto));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
     }
 
     @Test
@@ -281,13 +282,28 @@ class BudgetServiceTest {
         
         when(userService.getCurrentUser()).thenReturn(testUser);
         when(categoryService.findCategoryById(budgetCreateDto.getCategoryId())).thenReturn(testCategory);
-        when(budgetRepository.findByUserAndCategoryAndYearAndMonth(
-                testUser, testCategory, budgetCreateDto.getYear(), budgetCreateDto.getMonth()))
-                .thenReturn(Optional.of(testBudget));
+        when(budgetRepository.saveAndFlush(any(Budget.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_budgets_user_category_period"));
 
         
-        assertThrows(RuntimeException.class, () -> budgetService.createBudget(budgetCreateDto));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> budgetService.createBudget(budgetCreateDto));
+        assertEquals("Budget already exists for this category and period", exception.getMessage());
+    }
+
+    @Test
+    void createBudget_ShouldRethrowOtherIntegrityViolations() {
+        
+        DataIntegrityViolationException foreignKeyViolation = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("FK violation", null, "fk_budget_category"));
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryById(budgetCreateDto.getCategoryId())).thenReturn(testCategory);
+        when(budgetRepository.saveAndFlush(any(Budget.class))).thenThrow(foreignKeyViolation);
+
+        
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> budgetService.createBudget(budgetCreateDto));
+        assertSame(foreignKeyViolation, exception);
     }
 
     @Test
@@ -299,7 +315,7 @@ class BudgetServiceTest {
 
         
         assertThrows(RuntimeException.class, () -> budgetService.createBudget(budgetCreateDto));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
     }
 
     @Test
@@ -311,7 +327,7 @@ class BudgetServiceTest {
 
         
         assertThrows(RuntimeException.class, () -> budgetService.createBudget(budgetCreateDto));
-        verify(budgetRepository, never()).save(any(Budget.class));
+        verify(budgetRepository, never()).saveAndFlush(any(Budget.class));
     }
 
     @Test
@@ -548,6 +564,51 @@ class BudgetServiceTest {
         assertEquals(BigDecimal.ZERO, result);
     }
 
+    @Test
+    void getBudgetStatusForMonth_ShouldBuildStatusFromSingleQuery() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(budgetRepository.findBudgetStatusByUserAndYearAndMonth(testUser, testYear, testMonth,
+                LocalDate.of(testYear, testMonth, 1), LocalDate.of(testYear, testMonth, 31)))
+                .thenReturn(Arrays.asList(
+                        new Object[]{1, 1, "Test Category", new BigDecimal("1000.00"), new BigDecimal("250.00")},
+                        new Object[]{2, 2, "Travel", new BigDecimal("100.00"), null},
+                        new Object[]{3, 3, "Food", new BigDecimal("100.00"), new BigDecimal("150.00")}));
+
+        
+        List<BudgetStatusDto> result = budgetService.getBudgetStatusForMonth(testYear, testMonth);
+
+        
+        assertEquals(3, result.size());
+        assertEquals("Test Category", result.get(0).getCategory());
+        assertEquals(new BigDecimal("250.00"), result.get(0).getSpentAmount());
+        assertEquals(new BigDecimal("750.00"), result.get(0).getRemainingAmount());
+        assertEquals(25.0, result.get(0).getUsagePercentage());
+        assertFalse(result.get(0).getIsOverBudget());
+
+        assertEquals(BigDecimal.ZERO, result.get(1).getSpentAmount());
+        assertEquals(0.0, result.get(1).getUsagePercentage());
+
+        assertTrue(result.get(2).getIsOverBudget());
+
+        verify(budgetRepository, never()).findById(anyInt());
+        verify(expenseRepository, never()).sumAmountByUserAndCategoryAndDateBetween(any(), any(), any(), any());
+        verify(userService, times(1)).getCurrentUser();
+    }
+
+    @Test
+    void getBudgetStatusForMonth_ShouldReturnEmptyListWhenNoUser() {
+        
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        
+        List<BudgetStatusDto> result = budgetService.getBudgetStatusForMonth(testYear, testMonth);
+
+        
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(budgetRepository);
+    }
+
     @Test
     void getRemainingBudgetForCategory_ShouldReturnRemainingAmount() {
         
@@ -7,12 +7,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,7 +27,6 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
-    @InjectMocks
     private CategoryService categoryService;
 
     private Category testCategory;
@@ -34,7 +34,8 @@ class CategoryServiceTest {
 
     @BeforeEach
     void setUp() {
-        
+        categoryService = new CategoryService(categoryRepository, new CategoryCache(categoryRepository, Duration.ofMinutes(10)));
+
         testCategory = new Category();
         testCategory.setId(1);
         testCategory.setName("Test Category");
@@ -77,7 +78,7 @@ class CategoryServiceTest {
     @Test
     void findById_ShouldReturnCategoryWhenExists() {
         
-        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
 
         
         Optional<CategoryDto> result = categoryService.findById(testCategory.getId());
@@ -94,7 +95,7 @@ class CategoryServiceTest {
     @Test
     void findById_ShouldReturnEmptyWhenCategoryDoesNotExist() {
         
-        when(categoryRepository.findById(999)).thenReturn(Optional.empty());
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
 
         
         Optional<CategoryDto> result = categoryService.findById(999);
@@ -309,7 +310,7 @@ class CategoryServiceTest {
     @Test
     void findCategoryById_ShouldReturnCategoryWhenExists() {
         
-        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
 
         
         Category result = categoryService.findCategoryById(testCategory.getId());
@@ -323,9 +324,89 @@ class CategoryServiceTest {
     @Test
     void findCategoryById_ShouldThrowExceptionWhenCategoryNotFound() {
         
-        when(categoryRepository.findById(999)).thenReturn(Optional.empty());
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
 
         
         assertThrows(RuntimeException.class, () -> categoryService.findCategoryById(999));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findCategoryMap_ShouldReturnCategoriesById() {
+        
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
+
+        
+        Map<Integer, Category> result = categoryService.findCategoryMap();
+
+        
+        assertEquals(1, result.size());
+        assertEquals(testCategory, result.get(testCategory.getId()));
+    }
+
+    @Test
+    void findCategoryById_ShouldServeRepeatedLookupsFromOneSnapshot() {
+        
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
+
+        
+        categoryService.findCategoryById(testCategory.getId());
+        categoryService.findCategoryById(testCategory.getId());
+        categoryService.findAllCategories();
+
+        
+        verify(categoryRepository, times(1)).findAll();
+        verify(categoryRepository, never()).findById(anyInt());
+        Map<String, Object> stats = categoryService.getCacheStats();
+        assertEquals(2L, stats.get("hitCount"));
+        assertEquals(1L, stats.get("missCount"));
+        assertEquals(1L, stats.get("loadCount"));
+    }
+
+    @Test
+    void createCategory_ShouldInvalidateCache() {
+        
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
+        when(categoryRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        categoryService.findAllCategories();
+
+        
+        categoryService.createCategory(testCategoryDto);
+        categoryService.findAllCategories();
+
+        
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void updateCategory_ShouldInvalidateCache() {
+        
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory));
+        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByName(anyString())).thenReturn(Optional.empty());
+        when(categoryRepository.save(any(Category.class))).thenReturn(testCategory);
+        categoryService.findCategoryById(testCategory.getId());
+
+        
+        categoryService.updateCategory(testCategory.getId(), testCategoryDto);
+        categoryService.findCategoryById(testCategory.getId());
+
+        
+        verify(categoryRepository, times(2)).findAll();
+    }
+
+    @Test
+    void deleteCategory_ShouldInvalidateCache() {
+        
+        when(categoryRepository.findAll()).thenReturn(Arrays.asList(testCategory), List.of());
+        when(categoryRepository.findById(testCategory.getId())).thenReturn(Optional.of(testCategory));
+        categoryService.findCategoryById(testCategory.getId());
+
+        
+        categoryService.deleteCategory(testCategory.getId());
+
+        
+        assertThrows(RuntimeException.class, () -> categoryService.findCategoryById(testCategory.getId()));
+        verify(categoryRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Role;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserHolderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserHolder currentUserHolder;
+
+    private User testUser;
+    private UserPrincipal principalWithoutEntity;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+        testUser.setRole(Role.USER);
+        testUser.setIsActive(true);
+
+        principalWithoutEntity = new UserPrincipal(1, "testuser", null, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void resolve_ShouldQueryOncePerRequest() {
+        
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+
+        
+        for (int i = 0; i < 6; i++) {
+            assertSame(testUser, currentUserHolder.resolve(principalWithoutEntity));
+        }
+
+        
+        verify(userRepository, times(1)).findById(1);
+    }
+
+    @Test
+    void resolve_ShouldNotQueryWhenPrincipalCarriesEntity() {
+        
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        UserPrincipal principal = UserPrincipal.create(testUser);
+
+        
+        for (int i = 0; i < 6; i++) {
+            assertSame(testUser, currentUserHolder.resolve(principal));
+        }
+
+        
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void resolve_ShouldQueryEachTimeOutsideRequest() {
+        
+        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+
+        
+        currentUserHolder.resolve(principalWithoutEntity);
+        currentUserHolder.resolve(principalWithoutEntity);
+
+        
+        verify(userRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void resolve_ShouldReturnNullWhenUserMissing() {
+        
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
+
+        
+        assertNull(currentUserHolder.resolve(principalWithoutEntity));
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.DashboardSummaryDto;
+import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.BudgetRepository;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private ExpenseDailyRollupRepository rollupRepository;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExpenseArchiveService expenseArchiveService;
+
+    @Spy
+    private QueryFanOut queryFanOut = new QueryFanOut(mock(PlatformTransactionManager.class), false);
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private User testUser;
+    private Category testCategory;
+    private final LocalDate today = LocalDate.of(2024, 3, 15);
+    private final LocalDate startOfMonth = LocalDate.of(2024, 3, 1);
+    private final LocalDate endOfMonth = LocalDate.of(2024, 3, 31);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardService, "recentExpenses", 10);
+
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+
+        testCategory = new Category();
+        testCategory.setId(1);
+        testCategory.setName("Food");
+    }
+
+    @Test
+    void getSummary_ShouldAggregateWithTargetedQueries() {
+        
+        ExpenseDto recent = new ExpenseDto();
+        recent.setId(7);
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryCache.findAll()).thenReturn(List.of(testCategory, new Category()));
+        when(expenseRepository.sumAmountByUserAndDateBetween(testUser, startOfMonth, endOfMonth))
+                .thenReturn(new BigDecimal("200.00"));
+        when(expenseRepository.sumAmountByUser(testUser)).thenReturn(new BigDecimal("500.00"));
+        when(budgetRepository.sumAmountByUserIdAndYearAndMonth(1, 2024, 3)).thenReturn(new BigDecimal("1000.00"));
+        when(expenseRepository.findDtoPageByUserId(eq(1), any(Pageable.class))).thenReturn(List.of(recent));
+        when(expenseRepository.findExpensesSumByCategory(testUser, startOfMonth, endOfMonth))
+                .thenReturn(Collections.singletonList(new Object[]{testCategory, new BigDecimal("200.00")}));
+
+        
+        DashboardSummaryDto summary = dashboardService.getSummary(today);
+
+        
+        assertEquals(new BigDecimal("200.00"), summary.getCurrentMonthExpenses());
+        assertEquals(new BigDecimal("500.00"), summary.getTotalExpenses());
+        assertEquals(new BigDecimal("1000.00"), summary.getCurrentMonthBudget());
+        assertEquals(2, summary.getTotalCategories());
+        assertEquals(List.of(recent), summary.getRecentExpenses());
+        assertEquals(1, summary.getExpensesByCategory().size());
+        assertEquals("Food", summary.getExpensesByCategory().keySet().iterator().next().getName());
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(expenseRepository).findDtoPageByUserId(eq(1), pageableCaptor.capture());
+        assertEquals(10, pageableCaptor.getValue().getPageSize());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void getSummary_ShouldReadTotalsFromRollupWhenEnabled() {
+        
+        ReflectionTestUtils.setField(dashboardService, "useRollup", true);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(rollupRepository.sumAmountByUserIdAndDayBetween(1, startOfMonth, endOfMonth)).thenReturn(new BigDecimal("200.00"));
+        when(rollupRepository.sumAmountByUserId(1)).thenReturn(new BigDecimal("500.00"));
+        when(rollupRepository.findExpensesSumByCategory(1, startOfMonth, endOfMonth)).thenReturn(Collections.emptyList());
+
+        
+        DashboardSummaryDto summary = dashboardService.getSummary(today);
+
+        
+        assertEquals(new BigDecimal("200.00"), summary.getCurrentMonthExpenses());
+        assertEquals(new BigDecimal("500.00"), summary.getTotalExpenses());
+        assertEquals(BigDecimal.ZERO, summary.getCurrentMonthBudget());
+        verify(expenseRepository, never()).sumAmountByUser(any());
+        verify(expenseRepository, never()).findExpensesSumByCategory(any(), any(), any());
+    }
+
+    @Test
+    void getSummary_ShouldKeepLifetimeTotalAfterMonthIsArchived() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserAndDateBetween(testUser, startOfMonth, endOfMonth))
+                .thenReturn(new BigDecimal("200.00"));
+        when(expenseRepository.sumAmountByUser(testUser)).thenReturn(new BigDecimal("500.00"));
+        BigDecimal beforeArchiving = dashboardService.getSummary(today).getTotalExpenses();
+
+        // Miesiąc za 120.00 przeniesiony do archiwum
+        when(expenseRepository.sumAmountByUser(testUser)).thenReturn(new BigDecimal("380.00"));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(LocalDate.of(2024, 1, 1));
+        when(expenseArchiveService.sumAmount(1, LocalDate.of(2024, 1, 1), null, null)).thenReturn(new BigDecimal("120.00"));
+
+        
+        DashboardSummaryDto summary = dashboardService.getSummary(today);
+
+        
+        assertEquals(new BigDecimal("500.00"), beforeArchiving);
+        assertEquals(beforeArchiving, summary.getTotalExpenses());
+        assertEquals(new BigDecimal("200.00"), summary.getCurrentMonthExpenses());
+    }
+
+    @Test
+    void getSummary_ShouldReturnEmptySummaryWhenNoUser() {
+        
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        
+        DashboardSummaryDto summary = dashboardService.getSummary(today);
+
+        
+        assertEquals(BigDecimal.ZERO, summary.getTotalExpenses());
+        assertTrue(summary.getRecentExpenses().isEmpty());
+        assertTrue(summary.getExpensesByCategory().isEmpty());
+        verifyNoInteractions(expenseRepository, budgetRepository, rollupRepository);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.PurgeJobDto;
+import com.example.trackexpenses.entity.Budget;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:purge;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class DataPurgeServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RevokedUserRegistry revokedUserRegistry = mock(RevokedUserRegistry.class);
+
+    private DataPurgeService purgeService;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Food");
+        entityManager.persist(category);
+        alice = persistUser("alice", category, 7, 2);
+        bob = persistUser("bob", category, 3, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        jdbcTemplate.update("INSERT INTO expense_daily_rollup (user_id, category_id, day, total_amount, expense_count) " +
+                "SELECT user_id, category_id, date, SUM(amount), COUNT(*) FROM expenses GROUP BY user_id, category_id, date");
+
+        // Zadanie wykonuje się w wątku testu, więc wynik jest gotowy od razu po starcie
+        ExecutorService directExecutor = mock(ExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(directExecutor).execute(any(Runnable.class));
+
+        purgeService = new DataPurgeService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                revokedUserRegistry, directExecutor);
+        ReflectionTestUtils.setField(purgeService, "chunkSize", 3);
+    }
+
+    @Test
+    void startClearAll_ShouldDeleteAllExpensesBudgetsAndRollupInChunks() {
+        PurgeJobDto started = purgeService.startClearAll();
+
+        PurgeJobDto job = purgeService.findJob(started.getId()).orElseThrow();
+        assertEquals(DataPurgeService.STATUS_COMPLETED, job.getStatus());
+        assertEquals(DataPurgeService.TYPE_CLEAR_ALL, job.getType());
+        assertEquals(10L, job.getExpensesDeleted());
+        assertEquals(3L, job.getBudgetsDeleted());
+        // 10 wydatków po 3 = 4 paczki, 10 dziennych sum = 4 paczki, 3 budżety = 1 paczka
+        assertEquals(9L, job.getChunks());
+        assertNotNull(job.getFinishedAt());
+
+        assertEquals(0, count("SELECT COUNT(*) FROM expenses"));
+        assertEquals(0, count("SELECT COUNT(*) FROM budgets"));
+        assertEquals(0, count("SELECT COUNT(*) FROM expense_daily_rollup"));
+        assertEquals(2, count("SELECT COUNT(*) FROM users"));
+    }
+
+    @Test
+    void startUserPurge_ShouldDeleteOnlyThatUsersDataAndTheUser() {
+        PurgeJobDto started = purgeService.startUserPurge(alice.getId());
+
+        PurgeJobDto job = purgeService.findJob(started.getId()).orElseThrow();
+        assertEquals(DataPurgeService.STATUS_COMPLETED, job.getStatus());
+        assertEquals(alice.getId(), job.getUserId());
+        assertEquals(7L, job.getExpensesDeleted());
+        assertEquals(2L, job.getBudgetsDeleted());
+        verify(revokedUserRegistry).revoke(alice.getId());
+
+        assertEquals(0, count("SELECT COUNT(*) FROM users WHERE id = " + alice.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM expense_daily_rollup WHERE user_id = " + alice.getId()));
+        assertEquals(3, count("SELECT COUNT(*) FROM expenses WHERE user_id = " + bob.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM budgets WHERE user_id = " + bob.getId()));
+        assertEquals(3, count("SELECT COALESCE(SUM(expense_count), 0) FROM expense_daily_rollup"));
+    }
+
+    @Test
+    void startUserPurge_ShouldReportFailure() {
+        TransactionTemplate failingTransactions = mock(TransactionTemplate.class);
+        when(failingTransactions.execute(any())).thenThrow(new RuntimeException("Connection lost"));
+        ReflectionTestUtils.setField(purgeService, "transactionTemplate", failingTransactions);
+
+        PurgeJobDto started = purgeService.startUserPurge(alice.getId());
+
+        PurgeJobDto job = purgeService.findJob(started.getId()).orElseThrow();
+        assertEquals(DataPurgeService.STATUS_FAILED, job.getStatus());
+        assertEquals("Connection lost", job.getError());
+        assertEquals(0L, job.getExpensesDeleted());
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE id = " + alice.getId()));
+    }
+
+    @Test
+    void startClearAll_ShouldFailWhenWorkerIsInterrupted() {
+        Thread.currentThread().interrupt();
+        PurgeJobDto started;
+        try {
+            started = purgeService.startClearAll();
+        } finally {
+            Thread.interrupted();
+        }
+
+        PurgeJobDto job = purgeService.findJob(started.getId()).orElseThrow();
+        assertEquals(DataPurgeService.STATUS_FAILED, job.getStatus());
+        assertEquals("Purge job interrupted", job.getError());
+        assertEquals(10, count("SELECT COUNT(*) FROM expenses"));
+    }
+
+    @Test
+    void findJob_ShouldReturnEmptyForUnknownId() {
+        assertTrue(purgeService.findJob("missing").isEmpty());
+    }
+
+    private User persistUser(String username, Category category, int expenses, int budgets) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+
+        for (int i = 0; i < expenses; i++) {
+            Expense expense = new Expense();
+            expense.setAmount(BigDecimal.ONE);
+            expense.setDescription("Expense " + i);
+            expense.setDate(LocalDate.of(2025, 1, 1).plusDays(i));
+            expense.setCategory(category);
+            expense.setUser(user);
+            entityManager.persist(expense);
+        }
+        for (int month = 1; month <= budgets; month++) {
+            Budget budget = new Budget();
+            budget.setAmount(BigDecimal.TEN);
+            budget.setCategory(category);
+            budget.setUser(user);
+            budget.setMonth(month);
+            budget.setYear(2025);
+            entityManager.persist(budget);
+        }
+        return user;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
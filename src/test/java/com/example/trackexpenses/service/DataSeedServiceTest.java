@@ -0,0 +1,123 @@
+package com.example.trackexpenses.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataSeedServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private CategoryCache categoryCache;
+
+    @InjectMocks
+    private DataSeedService dataSeedService;
+
+    @Test
+    void seedCategories_ShouldInsertAllCategoriesInOneStatementAndInvalidateCache() {
+        when(jdbcTemplate.update(anyString())).thenReturn(8);
+
+        int created = dataSeedService.seedCategories();
+
+        assertEquals(8, created);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).update(sql.capture());
+        assertTrue(sql.getValue().contains("ON CONFLICT (name) DO NOTHING"));
+        verify(categoryCache).invalidate();
+    }
+
+    @Test
+    void seedCategories_ShouldNotInvalidateCacheWhenNothingWasInserted() {
+        when(jdbcTemplate.update(anyString())).thenReturn(0);
+
+        assertEquals(0, dataSeedService.seedCategories());
+
+        verify(categoryCache, never()).invalidate();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void seedUsers_ShouldEncodePasswordsOnlyForMissingUsersAndInsertThemInOneBatch() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("admin"));
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 1});
+
+        int created = dataSeedService.seedUsers();
+
+        assertEquals(2, created);
+        verify(passwordEncoder, never()).encode("admin123");
+        verify(passwordEncoder).encode("user123");
+        verify(passwordEncoder).encode("demo123");
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(sql.capture(), rows.capture());
+        assertTrue(sql.getValue().contains("ON CONFLICT DO NOTHING"));
+        assertEquals(List.of("testuser", "demo"), rows.getValue().stream().map(row -> row[0]).toList());
+    }
+
+    @Test
+    void seedUsers_ShouldSkipInsertWhenAllUsersExist() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("admin", "testuser", "demo"));
+
+        assertEquals(0, dataSeedService.seedUsers());
+
+        verifyNoInteractions(passwordEncoder);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void seedUsers_ShouldNotCountRowsSkippedByConflict() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0, 1});
+
+        assertEquals(2, dataSeedService.seedUsers());
+    }
+
+    @Test
+    void seedExpenses_ShouldGenerateCopiesAndRollupInOneStatement() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq(1000), eq(2))).thenReturn(14000L);
+
+        long created = dataSeedService.seedExpenses(2, 1000);
+
+        assertEquals(14000L, created);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).queryForObject(sql.capture(), eq(Long.class), eq(1000), eq(2));
+        assertTrue(sql.getValue().contains("generate_series"));
+        assertTrue(sql.getValue().contains("INSERT INTO expense_daily_rollup"));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void seedBudgets_ShouldUpsertAllMonthsInOneStatement() {
+        when(jdbcTemplate.update(anyString(), eq(2), eq(12))).thenReturn(50);
+
+        int created = dataSeedService.seedBudgets(2, 12);
+
+        assertEquals(50, created);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), eq(2), eq(12));
+        assertTrue(sql.getValue().contains("ON CONFLICT (user_id, category_id, year, month) DO NOTHING"));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+}
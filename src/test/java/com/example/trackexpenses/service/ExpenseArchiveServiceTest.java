@@ -0,0 +1,176 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.ExpenseArchiveStateRepository;
+import com.example.trackexpenses.repository.ExpenseMonthlySummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseArchiveServiceTest {
+
+    private static final LocalDate BOUNDARY = LocalDate.of(2023, 6, 1);
+
+    @Mock
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
+    @Mock
+    private ExpenseMonthlySummaryRepository summaryRepository;
+
+    @Mock
+    private ExpenseArchiveStateRepository stateRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ExpenseArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        Clock clock = Clock.fixed(LocalDate.of(2025, 6, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        archiveService = new ExpenseArchiveService(archivedExpenseRepository, summaryRepository, stateRepository,
+                jdbcTemplate, transactionTemplate, clock);
+        ReflectionTestUtils.setField(archiveService, "horizonMonths", 24);
+    }
+
+    @Test
+    void reaches_ShouldBeFalseWhenArchiveIsEmpty() {
+        assertFalse(ExpenseArchiveService.reaches(null, null));
+        assertFalse(ExpenseArchiveService.reaches(null, LocalDate.of(2000, 1, 1)));
+    }
+
+    @Test
+    void reaches_ShouldCompareStartDateWithArchiveBoundary() {
+        assertTrue(ExpenseArchiveService.reaches(BOUNDARY, null));
+        assertTrue(ExpenseArchiveService.reaches(BOUNDARY, LocalDate.of(2023, 5, 31)));
+        assertFalse(ExpenseArchiveService.reaches(BOUNDARY, LocalDate.of(2023, 6, 1)));
+    }
+
+    @Test
+    void archivedRange_ShouldSplitPartialEdgeMonthsFromFullMonths() {
+        ExpenseArchiveService.ArchivedRange range = ExpenseArchiveService.archivedRange(BOUNDARY,
+                LocalDate.of(2022, 3, 15), LocalDate.of(2024, 1, 10));
+
+        assertEquals(LocalDate.of(2022, 4, 1), range.fromMonth());
+        assertEquals(LocalDate.of(2023, 5, 1), range.toMonth());
+        assertEquals(List.of(new ExpenseArchiveService.DateRange(LocalDate.of(2022, 3, 15), LocalDate.of(2022, 3, 31))),
+                range.partialMonths());
+    }
+
+    @Test
+    void archivedRange_ShouldReadPartialMonthWithinSingleMonth() {
+        ExpenseArchiveService.ArchivedRange range = ExpenseArchiveService.archivedRange(BOUNDARY,
+                LocalDate.of(2023, 2, 3), LocalDate.of(2023, 2, 20));
+
+        assertFalse(range.hasFullMonths());
+        assertEquals(List.of(new ExpenseArchiveService.DateRange(LocalDate.of(2023, 2, 3), LocalDate.of(2023, 2, 20))),
+                range.partialMonths());
+    }
+
+    @Test
+    void archivedRange_ShouldCoverWholeArchiveWithoutBounds() {
+        ExpenseArchiveService.ArchivedRange range = ExpenseArchiveService.archivedRange(BOUNDARY, null, null);
+
+        assertEquals(LocalDate.of(1900, 1, 1), range.fromMonth());
+        assertEquals(LocalDate.of(2023, 5, 1), range.toMonth());
+        assertTrue(range.partialMonths().isEmpty());
+    }
+
+    @Test
+    void archivedRange_ShouldBeEmptyAfterArchiveBoundary() {
+        assertNull(ExpenseArchiveService.archivedRange(BOUNDARY, LocalDate.of(2023, 6, 1), LocalDate.of(2023, 12, 31)));
+    }
+
+    @Test
+    void sumAmount_ShouldAddMonthlySummariesAndPartialMonthsFromArchive() {
+        when(summaryRepository.sumAmountByUserIdAndMonthBetween(1, LocalDate.of(2022, 4, 1), LocalDate.of(2023, 5, 1)))
+                .thenReturn(new BigDecimal("1000.00"));
+        when(archivedExpenseRepository.sumAmountByUserIdAndDateBetween(1, LocalDate.of(2022, 3, 15), LocalDate.of(2022, 3, 31)))
+                .thenReturn(new BigDecimal("25.50"));
+
+        BigDecimal total = archiveService.sumAmount(1, BOUNDARY, LocalDate.of(2022, 3, 15), LocalDate.of(2024, 1, 10));
+
+        assertEquals(new BigDecimal("1025.50"), total);
+        verifyNoInteractions(stateRepository);
+    }
+
+    @Test
+    void sumAmount_ShouldNotQueryArchiveWhenItIsEmpty() {
+        assertEquals(BigDecimal.ZERO, archiveService.sumAmount(1, null, null, null));
+        verifyNoInteractions(summaryRepository, archivedExpenseRepository, stateRepository);
+    }
+
+    @Test
+    void countExpenses_ShouldAddSummaryCountsAndPartialMonthsFromArchive() {
+        when(summaryRepository.countByUserIdAndMonthBetween(1, LocalDate.of(2022, 4, 1), LocalDate.of(2023, 5, 1)))
+                .thenReturn(40L);
+        when(archivedExpenseRepository.countByUserIdAndDateBetween(1, LocalDate.of(2022, 3, 15), LocalDate.of(2022, 3, 31)))
+                .thenReturn(3L);
+
+        assertEquals(43L, archiveService.countExpenses(1, BOUNDARY, LocalDate.of(2022, 3, 15), null));
+    }
+
+    @Test
+    void archiveExpiredMonths_ShouldArchiveEachMonthBeforeHorizonAndRefreshBoundary() {
+        LocalDate cutoff = LocalDate.of(2023, 6, 1);
+        when(jdbcTemplate.queryForList(anyString(), eq(LocalDate.class), eq(cutoff)))
+                .thenReturn(List.of(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 5, 1)));
+        when(jdbcTemplate.queryForObject("SELECT archive_expenses_month(?)", Integer.class, LocalDate.of(2023, 4, 1)))
+                .thenReturn(120);
+        when(jdbcTemplate.queryForObject("SELECT archive_expenses_month(?)", Integer.class, LocalDate.of(2023, 5, 1)))
+                .thenReturn(80);
+
+        int archived = archiveService.archiveExpiredMonths();
+
+        assertEquals(200, archived);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void getArchivedBefore_ShouldReadBoundaryWrittenByAnotherInstance() {
+        when(stateRepository.findArchivedBefore()).thenReturn(null, LocalDate.of(2023, 6, 1));
+
+        assertNull(archiveService.getArchivedBefore());
+        assertEquals(BOUNDARY, archiveService.getArchivedBefore());
+    }
+
+    @Test
+    void archiveScheduled_ShouldDoNothingWhenDisabled() {
+        archiveService.archiveScheduled();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void archiveScheduled_ShouldLogAndSwallowDatabaseErrors() {
+        ReflectionTestUtils.setField(archiveService, "enabled", true);
+        when(jdbcTemplate.queryForList(anyString(), eq(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertDoesNotThrow(() -> archiveService.archiveScheduled());
+    }
+}
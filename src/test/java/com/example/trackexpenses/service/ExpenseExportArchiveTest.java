@@ -0,0 +1,134 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.ExpenseArchiveStateRepository;
+import com.example.trackexpenses.repository.ExpenseMonthlySummaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Eksport na H2: przeniesienie miesiąca do expenses_archive (tak jak archive_expenses_month) nie zmienia wyniku.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportarchive;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ExpenseExportArchiveTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
+    @Autowired
+    private ExpenseMonthlySummaryRepository summaryRepository;
+
+    @Autowired
+    private ExpenseArchiveStateRepository stateRepository;
+
+    private ExpenseExportService expenseExportService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("exporter");
+        user.setEmail("exporter@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+        Category category = new Category();
+        category.setName("Food");
+        entityManager.persist(category);
+
+        persistExpense(category, "2022-01-10", "12.50", "Old lunch");
+        persistExpense(category, "2022-01-20", "30.00", "Old dinner, with \"friends\"");
+        persistExpense(category, "2024-05-02", "8.00", "Coffee");
+        persistExpense(category, "2024-05-03", "15.00", "Lunch");
+        entityManager.flush();
+        entityManager.clear();
+
+        ExpenseArchiveService expenseArchiveService = new ExpenseArchiveService(archivedExpenseRepository,
+                summaryRepository, stateRepository, jdbcTemplate, transactionManager);
+        expenseExportService = new ExpenseExportService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), mock(UserService.class), expenseArchiveService);
+        ReflectionTestUtils.setField(expenseExportService, "fetchSize", 2);
+    }
+
+    @Test
+    void writeExpenses_ShouldExportTheSameRowsAfterMonthIsArchived() throws IOException {
+        String csvBefore = export(ExpenseExportService.Format.CSV, null, null);
+        String ndjsonBefore = export(ExpenseExportService.Format.NDJSON, null, null);
+        String rangeBefore = export(ExpenseExportService.Format.CSV, LocalDate.of(2022, 1, 15), LocalDate.of(2024, 5, 2));
+
+        archiveJanuary2022();
+
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses", Long.class));
+        assertEquals(5, csvBefore.split("\n").length);
+        assertEquals(csvBefore, export(ExpenseExportService.Format.CSV, null, null));
+        assertEquals(ndjsonBefore, export(ExpenseExportService.Format.NDJSON, null, null));
+        assertEquals(rangeBefore, export(ExpenseExportService.Format.CSV, LocalDate.of(2022, 1, 15), LocalDate.of(2024, 5, 2)));
+    }
+
+    // Odpowiednik archive_expenses_month dla H2 (funkcja z V7 działa tylko w PostgreSQL)
+    private void archiveJanuary2022() {
+        jdbcTemplate.update("INSERT INTO expenses_archive " +
+                "(id, amount, description, date, category_id, user_id, created_at, updated_at, archived_at) " +
+                "SELECT id, amount, description, date, category_id, user_id, created_at, updated_at, CURRENT_TIMESTAMP " +
+                "FROM expenses WHERE date >= DATE '2022-01-01' AND date < DATE '2022-02-01'");
+        jdbcTemplate.update("DELETE FROM expenses WHERE date >= DATE '2022-01-01' AND date < DATE '2022-02-01'");
+        jdbcTemplate.update("INSERT INTO expense_archive_state (id, archived_before) VALUES (1, DATE '2022-02-01')");
+    }
+
+    private String export(ExpenseExportService.Format format, LocalDate from, LocalDate to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        expenseExportService.writeExpenses(user.getId(), format, from, to, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void persistExpense(Category category, String date, String amount, String description) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDescription(description);
+        expense.setDate(LocalDate.parse(date));
+        expense.setCategory(category);
+        expense.setUser(user);
+        expense.setCreatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        entityManager.persist(expense);
+    }
+}
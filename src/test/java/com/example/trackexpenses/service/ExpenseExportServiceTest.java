@@ -0,0 +1,182 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExpenseArchiveService expenseArchiveService;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ExpenseExportService expenseExportService;
+
+    private User testUser;
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2024, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        expenseExportService = new ExpenseExportService(jdbcTemplate, transactionTemplate, new ObjectMapper(), userService,
+                expenseArchiveService);
+        ReflectionTestUtils.setField(expenseExportService, "fetchSize", 100);
+
+        testUser = new User();
+        testUser.setId(7);
+        testUser.setUsername("testuser");
+    }
+
+    private void stubTwoRows() throws Exception {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(resultSet.getInt(1)).thenReturn(2, 1);
+        when(resultSet.getObject(2, LocalDate.class)).thenReturn(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 10));
+        when(resultSet.getBigDecimal(3)).thenReturn(new BigDecimal("12.50"), new BigDecimal("100.00"));
+        when(resultSet.getString(4)).thenReturn("Lunch, with \"team\"", "Bus ticket");
+        when(resultSet.getInt(5)).thenReturn(1, 2);
+        when(resultSet.getString(6)).thenReturn("Food", "Transportation");
+        when(resultSet.getObject(7, LocalDateTime.class)).thenReturn(LocalDateTime.of(2024, 1, 20, 12, 0),
+                LocalDateTime.of(2024, 1, 10, 8, 30));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void writeExpenses_ShouldStreamCsvRows() throws Exception {
+        stubTwoRows();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        expenseExportService.writeExpenses(7, ExpenseExportService.Format.CSV, from, to, out);
+
+        assertEquals("id,date,amount,description,categoryId,category,createdAt\n" +
+                "2,2024-01-20,12.50,\"Lunch, with \"\"team\"\"\",1,Food,2024-01-20T12:00\n" +
+                "1,2024-01-10,100.00,Bus ticket,2,Transportation,2024-01-10T08:30\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeExpenses_ShouldStreamNdjsonRows() throws Exception {
+        stubTwoRows();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        expenseExportService.writeExpenses(7, ExpenseExportService.Format.NDJSON, from, to, out);
+
+        assertEquals("{\"id\":2,\"date\":\"2024-01-20\",\"amount\":12.50,\"description\":\"Lunch, with \\\"team\\\"\"," +
+                "\"categoryId\":1,\"category\":\"Food\",\"createdAt\":\"2024-01-20T12:00\"}\n" +
+                "{\"id\":1,\"date\":\"2024-01-10\",\"amount\":100.00,\"description\":\"Bus ticket\"," +
+                "\"categoryId\":2,\"category\":\"Transportation\",\"createdAt\":\"2024-01-10T08:30\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeExpenses_ShouldUseForwardOnlyCursorWithFetchSize() throws Exception {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        expenseExportService.writeExpenses(7, ExpenseExportService.Format.CSV, from, null, out);
+
+        ArgumentCaptor<PreparedStatementCreator> creatorCaptor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creatorCaptor.capture(), any(RowCallbackHandler.class));
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+
+        creatorCaptor.getValue().createPreparedStatement(connection);
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sqlCaptor.capture(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+        assertTrue(sqlCaptor.getValue().contains("e.date >= ?"));
+        assertFalse(sqlCaptor.getValue().contains("e.date <= ?"));
+        assertFalse(sqlCaptor.getValue().contains("expenses_archive"));
+        verify(statement).setFetchSize(100);
+        verify(statement).setObject(1, 7);
+        verify(statement).setObject(2, from);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    void exportCurrentUserExpenses_ShouldReturnBodyBoundToCurrentUser() throws Exception {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(transactionTemplate.execute(any())).thenReturn(null);
+
+        StreamingResponseBody body = expenseExportService.exportCurrentUserExpenses(ExpenseExportService.Format.CSV, from, to);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        assertEquals("id,date,amount,description,categoryId,category,createdAt\n", out.toString(StandardCharsets.UTF_8));
+        verify(userService, times(1)).getCurrentUser();
+    }
+
+    @Test
+    void exportCurrentUserExpenses_ShouldThrowExceptionWhenUserNotAuthenticated() {
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        assertThrows(RuntimeException.class,
+                () -> expenseExportService.exportCurrentUserExpenses(ExpenseExportService.Format.CSV, null, null));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void exportCurrentUserExpenses_ShouldThrowExceptionWhenRangeIsReversed() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseExportService.exportCurrentUserExpenses(ExpenseExportService.Format.CSV, to, from));
+    }
+
+    @Test
+    void formatFrom_ShouldParseCaseInsensitiveAndRejectUnknown() {
+        assertEquals(ExpenseExportService.Format.NDJSON, ExpenseExportService.Format.from("NDJson"));
+        assertEquals(ExpenseExportService.Format.CSV, ExpenseExportService.Format.from(null));
+        assertThrows(IllegalArgumentException.class, () -> ExpenseExportService.Format.from("xml"));
+    }
+}
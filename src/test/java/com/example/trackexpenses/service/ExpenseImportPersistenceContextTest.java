@@ -0,0 +1,105 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.BulkImportResultDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Import działa w kontekście utrwalania żądania (open-in-view); test sprawdza, że zapisane paczki
+ * nie zostają w nim zarządzane.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importcontext;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ExpenseImportPersistenceContextTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UserService userService = mock(UserService.class);
+    private final CategoryService categoryService = mock(CategoryService.class);
+    private final ExpenseRollupService expenseRollupService = mock(ExpenseRollupService.class);
+
+    private ExpenseImportService expenseImportService;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUsername("importer");
+        user.setEmail("importer@example.com");
+        user.setPassword("secret");
+        entityManager.persist(user);
+        category = new Category();
+        category.setName("Food");
+        entityManager.persist(category);
+        entityManager.flush();
+
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(category.getId(), category));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        expenseImportService = new ExpenseImportService(expenseRepository, userService, categoryService,
+                expenseRollupService, objectMapper, new TransactionTemplate(transactionManager),
+                entityManager.getEntityManager());
+        ReflectionTestUtils.setField(expenseImportService, "batchSize", 3);
+        ReflectionTestUtils.setField(expenseImportService, "maxErrors", 10);
+    }
+
+    @Test
+    void importExpenses_ShouldLeavePersistenceContextEmptyAfterEachBatch() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            body.append("{\"amount\":").append(i).append(".00,\"description\":\"Row ").append(i)
+                    .append("\",\"date\":\"2024-01-0").append(i % 9 + 1).append("\",\"categoryId\":")
+                    .append(category.getId()).append("}\n");
+        }
+
+        BulkImportResultDto result = expenseImportService.importExpenses(
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(10L, result.getImported());
+        assertEquals(10L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expenses", Long.class));
+        SessionImplementor session = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+        assertEquals(0, session.getPersistenceContextInternal().getNumberOfManagedEntities());
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.BulkImportResultDto;
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ExpenseImportService expenseImportService;
+
+    private User testUser;
+    private Category testCategory;
+    private final List<List<Expense>> savedBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        expenseImportService = new ExpenseImportService(expenseRepository, userService, categoryService,
+                expenseRollupService, objectMapper, transactionTemplate, entityManager);
+        ReflectionTestUtils.setField(expenseImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(expenseImportService, "maxErrors", 10);
+
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+
+        testCategory = new Category();
+        testCategory.setId(1);
+        testCategory.setName("Food");
+    }
+
+    private void stubTransactions() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(expenseRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Expense> batch = new ArrayList<>(invocation.getArgument(0));
+            savedBatches.add(batch);
+            return batch;
+        });
+    }
+
+    private InputStream input(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String row(String amount, String description, String date, int categoryId) {
+        return "{\"amount\":" + amount + ",\"description\":\"" + description + "\",\"date\":\"" + date
+                + "\",\"categoryId\":" + categoryId + "}";
+    }
+
+    @Test
+    void importExpenses_ShouldSaveJsonArrayInBatches() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(1, testCategory));
+        stubTransactions();
+
+        String body = "[" + row("10.00", "A", "2024-01-01", 1) + "," + row("20.00", "B", "2024-01-02", 1) + ","
+                + row("30.00", "C", "2024-01-03", 1) + "]";
+
+        BulkImportResultDto result = expenseImportService.importExpenses(input(body));
+
+        assertEquals(3L, result.getReceived());
+        assertEquals(3L, result.getImported());
+        assertEquals(0L, result.getFailed());
+        assertTrue(result.getCompleted());
+        assertEquals(2, savedBatches.size());
+        assertEquals(2, savedBatches.get(0).size());
+        assertEquals(1, savedBatches.get(1).size());
+        Expense first = savedBatches.get(0).get(0);
+        assertEquals(new BigDecimal("10.00"), first.getAmount());
+        assertEquals(testUser, first.getUser());
+        assertEquals(testCategory, first.getCategory());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(expenseRollupService).recordCreated(savedBatches.get(0));
+        verify(expenseRollupService).recordCreated(savedBatches.get(1));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importExpenses_ShouldReportInvalidNdjsonRowsAndContinue() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(1, testCategory));
+        stubTransactions();
+
+        String body = row("10.00", "A", "2024-01-01", 1) + "\n"
+                + row("10.00", "Unknown category", "2024-01-01", 99) + "\n"
+                + row("-5.00", "Negative", "2024-01-01", 1) + "\n"
+                + row("1.00", "Bad date", "2024-13-45", 1) + "\n"
+                + row("20.00", "B", "2024-01-02", 1) + "\n";
+
+        BulkImportResultDto result = expenseImportService.importExpenses(input(body));
+
+        assertEquals(5L, result.getReceived());
+        assertEquals(2L, result.getImported());
+        assertEquals(3L, result.getFailed());
+        assertTrue(result.getCompleted());
+        assertEquals(List.of(2L, 3L, 4L), result.getErrors().stream().map(e -> e.getRow()).toList());
+        assertEquals("Category not found", result.getErrors().get(0).getMessage());
+        assertEquals("Amount must be greater than zero", result.getErrors().get(1).getMessage());
+        assertTrue(result.getErrors().get(2).getMessage().startsWith("Invalid row"));
+    }
+
+    @Test
+    void importExpenses_ShouldRetryFailedBatchRowByRowAndReportOnlyRejectedRows() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(1, testCategory));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // Sekwencja nadaje id przed zapisem; baza odrzuca wiersz "B"
+        int[] nextId = {100};
+        when(expenseRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Expense> batch = new ArrayList<>(invocation.getArgument(0));
+            for (Expense expense : batch) {
+                if (expense.getId() != null) {
+                    throw new IllegalStateException("detached entity passed to persist");
+                }
+                expense.setId(nextId[0]++);
+            }
+            if (batch.stream().anyMatch(e -> "B".equals(e.getDescription()))) {
+                throw new RuntimeException("constraint violation");
+            }
+            savedBatches.add(batch);
+            return batch;
+        });
+
+        String body = row("10.00", "A", "2024-01-01", 1) + row("20.00", "B", "2024-01-02", 1)
+                + row("30.00", "C", "2024-01-03", 1);
+
+        BulkImportResultDto result = expenseImportService.importExpenses(input(body));
+
+        assertEquals(3L, result.getReceived());
+        assertEquals(2L, result.getImported());
+        assertEquals(1L, result.getFailed());
+        assertEquals(List.of(2L), result.getErrors().stream().map(e -> e.getRow()).toList());
+        assertTrue(result.getErrors().get(0).getMessage().contains("constraint violation"));
+        assertEquals(List.of("A", "C"), savedBatches.stream()
+                .flatMap(List::stream).map(Expense::getDescription).toList());
+        verify(expenseRollupService, times(2)).recordCreated(anyList());
+    }
+
+    @Test
+    void importExpenses_ShouldKeepSavedRowsAndStopWhenInputIsMalformed() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(1, testCategory));
+        stubTransactions();
+
+        String body = row("10.00", "A", "2024-01-01", 1) + "\n{\"amount\": 5,,}\n" + row("20.00", "B", "2024-01-02", 1);
+
+        BulkImportResultDto result = expenseImportService.importExpenses(input(body));
+
+        assertFalse(result.getCompleted());
+        assertEquals(1L, result.getImported());
+        assertEquals(1L, result.getFailed());
+        assertEquals(2L, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed input"));
+    }
+
+    @Test
+    void importExpenses_ShouldCapErrorListWhenTooManyErrors() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(categoryService.findCategoryMap()).thenReturn(Map.of(1, testCategory));
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 15; i++) {
+            body.append(row("10.00", "A", "2024-01-01", 99)).append('\n');
+        }
+
+        BulkImportResultDto result = expenseImportService.importExpenses(input(body.toString()));
+
+        assertEquals(15L, result.getFailed());
+        assertEquals(10, result.getErrors().size());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void importExpenses_ShouldThrowExceptionWhenUserNotAuthenticated() {
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> expenseImportService.importExpenses(input("[]")));
+
+        assertEquals("User not authenticated", exception.getMessage());
+        verify(categoryService, never()).findCategoryMap();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.trackexpenses.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpensePartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ExpensePartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doCallRealMethod().when(transactionTemplate).executeWithoutResult(any());
+
+        Clock clock = Clock.fixed(LocalDate.of(2025, 6, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        partitionService = new ExpensePartitionService(jdbcTemplate, transactionTemplate, clock);
+        ReflectionTestUtils.setField(partitionService, "monthsAhead", 3);
+    }
+
+    @Test
+    void createFuturePartitions_ShouldCreateCurrentAndNextMonths() {
+        when(jdbcTemplate.queryForObject(eq("SELECT create_expenses_partition(?)"), eq(Boolean.class), any(LocalDate.class)))
+                .thenReturn(false, false, true, true);
+
+        int created = partitionService.createFuturePartitions();
+
+        assertEquals(2, created);
+        for (LocalDate month : List.of(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 7, 1),
+                LocalDate.of(2025, 8, 1), LocalDate.of(2025, 9, 1))) {
+            verify(jdbcTemplate).queryForObject("SELECT create_expenses_partition(?)", Boolean.class, month);
+        }
+        verify(transactionTemplate, times(4)).execute(any());
+    }
+
+    @Test
+    void detachExpiredPartitions_ShouldDoNothingWithoutRetention() {
+        assertEquals(0, partitionService.detachExpiredPartitions());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void detachExpiredPartitions_ShouldDetachPartitionsOlderThanHorizonAndDropTheirRollup() {
+        ReflectionTestUtils.setField(partitionService, "retentionMonths", 24);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("expenses_y2023m04", "expenses_y2023m05", "expenses_y2023m06", "expenses_y2025m06"));
+
+        int detached = partitionService.detachExpiredPartitions();
+
+        assertEquals(2, detached);
+        verify(jdbcTemplate).execute("ALTER TABLE expenses DETACH PARTITION expenses_y2023m04");
+        verify(jdbcTemplate).execute("ALTER TABLE expenses DETACH PARTITION expenses_y2023m05");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE expenses DETACH PARTITION expenses_y2023m06");
+        verify(jdbcTemplate).update("DELETE FROM expense_daily_rollup WHERE day >= ? AND day < ?",
+                LocalDate.of(2023, 4, 1), LocalDate.of(2023, 5, 1));
+    }
+
+    @Test
+    void maintain_ShouldLogAndSwallowDatabaseErrors() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(LocalDate.class)))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertDoesNotThrow(() -> partitionService.maintain());
+    }
+
+    @Test
+    void monthOf_ShouldParsePartitionName() {
+        assertEquals(YearMonth.of(2024, 11), ExpensePartitionService.monthOf("expenses_y2024m11"));
+        assertThrows(IllegalArgumentException.class, () -> ExpensePartitionService.monthOf("expenses_default"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.Category;
+import com.example.trackexpenses.entity.Expense;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseRollupServiceTest {
+
+    @Mock
+    private ExpenseDailyRollupRepository rollupRepository;
+
+    @InjectMocks
+    private ExpenseRollupService expenseRollupService;
+
+    private User testUser;
+    private Category testCategory;
+    private final LocalDate day = LocalDate.of(2024, 3, 15);
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1);
+
+        testCategory = new Category();
+        testCategory.setId(3);
+    }
+
+    private Expense expense(String amount, LocalDate date) {
+        Expense expense = new Expense();
+        expense.setAmount(new BigDecimal(amount));
+        expense.setDate(date);
+        expense.setUser(testUser);
+        expense.setCategory(testCategory);
+        return expense;
+    }
+
+    @Test
+    void recordCreated_ShouldAddAmountAndCount() {
+        
+        expenseRollupService.recordCreated(expense("12.50", day));
+
+        
+        verify(rollupRepository).applyDelta(1, 3, day, new BigDecimal("12.50"), 1);
+        verify(rollupRepository, never()).deleteIfEmpty(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void recordDeleted_ShouldSubtractAndRemoveEmptyRow() {
+        
+        expenseRollupService.recordDeleted(expense("12.50", day));
+
+        
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).applyDelta(1, 3, day, new BigDecimal("-12.50"), -1);
+        inOrder.verify(rollupRepository).deleteIfEmpty(1, 3, day);
+    }
+
+    @Test
+    void recordCreated_ShouldAggregateBatchPerDay() {
+        
+        expenseRollupService.recordCreated(Arrays.asList(
+                expense("10.00", day),
+                expense("5.00", day),
+                expense("7.00", day.plusDays(1))));
+
+        
+        verify(rollupRepository).applyDelta(1, 3, day, new BigDecimal("15.00"), 2);
+        verify(rollupRepository).applyDelta(1, 3, day.plusDays(1), new BigDecimal("7.00"), 1);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void rebuild_ShouldLockReplaceAndReturnRowCount() {
+        
+        when(rollupRepository.insertFromExpenses()).thenReturn(42);
+
+        
+        int rows = expenseRollupService.rebuild();
+
+        
+        assertEquals(42, rows);
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockExpensesForRebuild();
+        inOrder.verify(rollupRepository).deleteAllRows();
+        inOrder.verify(rollupRepository).insertFromExpenses();
+    }
+}
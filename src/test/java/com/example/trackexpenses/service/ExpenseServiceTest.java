@@ -3,17 +3,23 @@ package com.example.trackexpenses.service;
 import com.example.trackexpenses.dto.CategoryDto;
 import com.example.trackexpenses.dto.ExpenseCreateDto;
 import com.example.trackexpenses.dto.ExpenseDto;
+import com.example.trackexpenses.dto.ExpensePageDto;
 import com.example.trackexpenses.entity.Category;
 import com.example.trackexpenses.entity.Expense;
 import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ArchivedExpenseRepository;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
 import com.example.trackexpenses.repository.ExpenseRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -23,11 +29,14 @@ import java.util.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ExpenseServiceTest {
 
+    private static final LocalDate ARCHIVED_BEFORE = LocalDate.of(2023, 6, 1);
+
     @Mock
     private ExpenseRepository expenseRepository;
 
@@ -37,6 +46,18 @@ class ExpenseServiceTest {
     @Mock
     private CategoryService categoryService;
 
+    @Mock
+    private ExpenseRollupService expenseRollupService;
+
+    @Mock
+    private ExpenseDailyRollupRepository rollupRepository;
+
+    @Mock
+    private ExpenseArchiveService expenseArchiveService;
+
+    @Mock
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -49,7 +70,9 @@ class ExpenseServiceTest {
 
     @BeforeEach
     void setUp() {
-        
+        ReflectionTestUtils.setField(expenseService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(expenseService, "maxPageSize", 10);
+
         testUser = new User();
         testUser.setId(1);
         testUser.setUsername("testuser");
@@ -81,6 +104,13 @@ class ExpenseServiceTest {
         expenseCreateDto.setCategoryId(1);
     }
 
+    private ExpenseDto toProjection(Expense expense) {
+        Category category = expense.getCategory();
+        return new ExpenseDto(expense.getId(), expense.getAmount(), expense.getDescription(), expense.getDate(),
+                category.getId(), category.getName(), category.getDescription(), category.getColorCode(),
+                category.getIsDefault(), expense.getCreatedAt(), expense.getUpdatedAt());
+    }
+
     @Test
     void findAllExpenses_ShouldReturnAllExpenses() {
         
@@ -110,7 +140,7 @@ class ExpenseServiceTest {
     void findExpensesByCurrentUser_ShouldReturnUserExpenses() {
         
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(expenseRepository.findByUser(testUser)).thenReturn(Collections.singletonList(testExpense));
+        when(expenseRepository.findDtosByUserId(testUser.getId())).thenReturn(Collections.singletonList(toProjection(testExpense)));
 
         
         List<ExpenseDto> result = expenseService.findExpensesByCurrentUser();
@@ -135,7 +165,74 @@ class ExpenseServiceTest {
 
         
         assertTrue(result.isEmpty());
-        verify(expenseRepository, never()).findByUser(any(User.class));
+        verify(expenseRepository, never()).findDtosByUserId(anyInt());
+    }
+
+    @Test
+    void findExpensePageByCurrentUser_ShouldReturnFirstPageWithCursor() {
+        Expense expense2 = new Expense();
+        expense2.setId(2);
+        expense2.setAmount(new BigDecimal("20.00"));
+        expense2.setDescription("Expense 2");
+        expense2.setDate(today.minusDays(1));
+        expense2.setCategory(testCategory);
+        expense2.setUser(testUser);
+
+        Expense expense3 = new Expense();
+        expense3.setId(3);
+        expense3.setAmount(new BigDecimal("30.00"));
+        expense3.setDescription("Expense 3");
+        expense3.setDate(today.minusDays(2));
+        expense3.setCategory(testCategory);
+        expense3.setUser(testUser);
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.findDtoPageByUserId(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toProjection(testExpense), toProjection(expense2), toProjection(expense3)));
+
+
+        ExpensePageDto page = expenseService.findExpensePageByCurrentUser(null, null);
+
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.getHasMore());
+        assertNotNull(page.getNextCursor());
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(expenseRepository).findDtoPageByUserId(eq(testUser.getId()), pageableCaptor.capture());
+        assertEquals(3, pageableCaptor.getValue().getPageSize());
+
+        when(expenseRepository.findDtoPageByUserIdAfterCursor(eq(testUser.getId()), eq(expense2.getDate()), eq(expense2.getId()), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(toProjection(expense3)));
+
+        ExpensePageDto nextPage = expenseService.findExpensePageByCurrentUser(page.getNextCursor(), null);
+
+        assertEquals(1, nextPage.getItems().size());
+        assertEquals(expense3.getId(), nextPage.getItems().get(0).getId());
+        assertFalse(nextPage.getHasMore());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void findExpensePageByCurrentUser_ShouldClampPageSize() {
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.findDtoPageByUserId(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+
+        expenseService.findExpensePageByCurrentUser(null, 1000);
+
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(expenseRepository).findDtoPageByUserId(eq(testUser.getId()), pageableCaptor.capture());
+        assertEquals(11, pageableCaptor.getValue().getPageSize());
+    }
+
+    @Test
+    void findExpensePageByCurrentUser_ShouldRejectInvalidCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> expenseService.findExpensePageByCurrentUser("not-a-cursor", null));
+        verifyNoInteractions(expenseRepository);
     }
 
     @Test
@@ -199,6 +296,7 @@ class ExpenseServiceTest {
         assertEquals(testCategory, savedExpense.getCategory());
         assertEquals(testUser, savedExpense.getUser());
         assertNotNull(savedExpense.getCreatedAt());
+        verify(expenseRollupService).recordCreated(savedExpense);
     }
 
     @Test
@@ -209,6 +307,7 @@ class ExpenseServiceTest {
         
         assertThrows(RuntimeException.class, () -> expenseService.createExpense(expenseCreateDto));
         verify(expenseRepository, never()).save(any(Expense.class));
+        verifyNoInteractions(expenseRollupService);
     }
 
     @Test
@@ -224,6 +323,11 @@ class ExpenseServiceTest {
         when(userService.getCurrentUser()).thenReturn(testUser);
         when(categoryService.findCategoryById(updateDto.getCategoryId())).thenReturn(testCategory);
         when(expenseRepository.save(any(Expense.class))).thenReturn(testExpense);
+        List<BigDecimal> removedAmounts = new ArrayList<>();
+        doAnswer(invocation -> removedAmounts.add(((Expense) invocation.getArgument(0)).getAmount()))
+                .when(expenseRollupService).recordDeleted(any(Expense.class));
+
+        BigDecimal previousAmount = testExpense.getAmount();
 
         
         ExpenseDto result = expenseService.updateExpense(testExpense.getId(), updateDto);
@@ -242,6 +346,12 @@ class ExpenseServiceTest {
         assertEquals(updateDto.getDate(), savedExpense.getDate());
         assertEquals(testCategory, savedExpense.getCategory());
         assertNotNull(savedExpense.getUpdatedAt());
+
+        assertEquals(List.of(previousAmount), removedAmounts);
+        InOrder inOrder = inOrder(expenseRollupService, expenseRepository);
+        inOrder.verify(expenseRollupService).recordDeleted(testExpense);
+        inOrder.verify(expenseRepository).save(testExpense);
+        inOrder.verify(expenseRollupService).recordCreated(testExpense);
     }
 
     @Test
@@ -291,7 +401,9 @@ class ExpenseServiceTest {
         expenseService.deleteExpense(testExpense.getId());
 
         
-        verify(expenseRepository).deleteById(testExpense.getId());
+        InOrder inOrder = inOrder(expenseRollupService, expenseRepository);
+        inOrder.verify(expenseRollupService).recordDeleted(testExpense);
+        inOrder.verify(expenseRepository).deleteById(testExpense.getId());
     }
 
     @Test
@@ -328,6 +440,7 @@ class ExpenseServiceTest {
         
         assertThrows(RuntimeException.class, () -> expenseService.deleteExpense(testExpense.getId()));
         verify(expenseRepository, never()).deleteById(anyInt());
+        verifyNoInteractions(expenseRollupService);
     }
 
     @Test
@@ -337,8 +450,8 @@ class ExpenseServiceTest {
         LocalDate endDate = today;
 
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(expenseRepository.findByUserAndDateBetween(testUser, startDate, endDate))
-                .thenReturn(Collections.singletonList(testExpense));
+        when(expenseRepository.findDtosByUserIdAndDateBetween(testUser.getId(), startDate, endDate))
+                .thenReturn(Collections.singletonList(toProjection(testExpense)));
 
         
         List<ExpenseDto> result = expenseService.findExpensesByDateRange(startDate, endDate);
@@ -362,7 +475,7 @@ class ExpenseServiceTest {
 
         
         assertTrue(result.isEmpty());
-        verify(expenseRepository, never()).findByUserAndDateBetween(any(), any(), any());
+        verify(expenseRepository, never()).findDtosByUserIdAndDateBetween(any(), any(), any());
     }
 
     @Test
@@ -370,8 +483,8 @@ class ExpenseServiceTest {
         
         when(userService.getCurrentUser()).thenReturn(testUser);
         when(categoryService.findCategoryById(testCategory.getId())).thenReturn(testCategory);
-        when(expenseRepository.findByUserAndCategory(testUser, testCategory))
-                .thenReturn(Collections.singletonList(testExpense));
+        when(expenseRepository.findDtosByUserIdAndCategoryId(testUser.getId(), testCategory.getId()))
+                .thenReturn(Collections.singletonList(toProjection(testExpense)));
 
         
         List<ExpenseDto> result = expenseService.findExpensesByCategory(testCategory.getId());
@@ -394,7 +507,7 @@ class ExpenseServiceTest {
         
         assertTrue(result.isEmpty());
         verify(categoryService, never()).findCategoryById(anyInt());
-        verify(expenseRepository, never()).findByUserAndCategory(any(), any());
+        verify(expenseRepository, never()).findDtosByUserIdAndCategoryId(any(), any());
     }
 
     @Test
@@ -404,8 +517,8 @@ class ExpenseServiceTest {
         BigDecimal maxAmount = new BigDecimal("150.00");
 
         when(userService.getCurrentUser()).thenReturn(testUser);
-        when(expenseRepository.findByUserAndAmountBetween(testUser, minAmount, maxAmount))
-                .thenReturn(Collections.singletonList(testExpense));
+        when(expenseRepository.findDtosByUserIdAndAmountBetween(testUser.getId(), minAmount, maxAmount))
+                .thenReturn(Collections.singletonList(toProjection(testExpense)));
 
         
         List<ExpenseDto> result = expenseService.findExpensesByAmountRange(minAmount, maxAmount);
@@ -429,7 +542,7 @@ class ExpenseServiceTest {
 
         
         assertTrue(result.isEmpty());
-        verify(expenseRepository, never()).findByUserAndAmountBetween(any(), any(), any());
+        verify(expenseRepository, never()).findDtosByUserIdAndAmountBetween(any(), any(), any());
     }
 
     @Test
@@ -447,6 +560,21 @@ class ExpenseServiceTest {
         assertEquals(total, result);
     }
 
+    @Test
+    void getTotalExpensesForCurrentUser_ShouldReadRollupWhenEnabled() {
+        
+        ReflectionTestUtils.setField(expenseService, "useRollup", true);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(rollupRepository.sumAmountByUserId(testUser.getId())).thenReturn(new BigDecimal("500.00"));
+
+        
+        BigDecimal result = expenseService.getTotalExpensesForCurrentUser();
+
+        
+        assertEquals(new BigDecimal("500.00"), result);
+        verify(expenseRepository, never()).sumAmountByUser(any());
+    }
+
     @Test
     void getTotalExpensesForCurrentUser_ShouldReturnZeroWhenNoUser() {
         
@@ -561,6 +689,30 @@ class ExpenseServiceTest {
         assertEquals(new BigDecimal("200.00"), entries.get(1).getValue());
     }
 
+    @Test
+    void getExpensesByCategory_ShouldReadRollupWhenEnabled() {
+        
+        ReflectionTestUtils.setField(expenseService, "useRollup", true);
+        LocalDate startDate = today.minusDays(30);
+        List<Object[]> results = new ArrayList<>();
+        results.add(new Object[]{testCategory, new BigDecimal("300.00")});
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(rollupRepository.findExpensesSumByCategory(testUser.getId(), startDate, today)).thenReturn(results);
+        when(rollupRepository.sumAmountByUserIdAndDayBetween(testUser.getId(), startDate, today))
+                .thenReturn(new BigDecimal("300.00"));
+
+        
+        Map<CategoryDto, BigDecimal> byCategory = expenseService.getExpensesByCategory(startDate, today);
+        BigDecimal periodTotal = expenseService.getTotalExpensesForPeriod(startDate, today);
+
+        
+        assertEquals(new BigDecimal("300.00"), byCategory.values().iterator().next());
+        assertEquals(new BigDecimal("300.00"), periodTotal);
+        verify(expenseRepository, never()).findExpensesSumByCategory(any(), any(), any());
+        verify(expenseRepository, never()).sumAmountByUserAndDateBetween(any(), any(), any());
+    }
+
     @Test
     void getExpensesByCategory_ShouldReturnEmptyMapWhenNoUser() {
         
@@ -585,18 +737,10 @@ class ExpenseServiceTest {
         BigDecimal februaryTotal = new BigDecimal("200.00");
 
         when(userService.getCurrentUser()).thenReturn(testUser);
-
-        
-        doAnswer(invocation -> {
-            LocalDate startDate = invocation.getArgument(1); 
-            LocalDate endDate = invocation.getArgument(2);   
-            if (startDate.getMonthValue() == 1) {
-                return januaryTotal;
-            } else if (startDate.getMonthValue() == 2) {
-                return februaryTotal;
-            }
-            return BigDecimal.ZERO;
-        }).when(expenseRepository).sumAmountByUserAndDateBetween(eq(testUser), any(LocalDate.class), any(LocalDate.class));
+        when(expenseRepository.sumAmountByUserGroupedByMonth(testUser, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)))
+                .thenReturn(Arrays.asList(
+                        new Object[]{year, 1, januaryTotal},
+                        new Object[]{year, 2, februaryTotal}));
 
         
         Map<String, BigDecimal> result = expenseService.getMonthlyExpenses(year);
@@ -609,6 +753,23 @@ class ExpenseServiceTest {
         
     }
 
+    @Test
+    void getMonthlyExpenses_ShouldUseSingleRoundTrip() {
+        // Wcześniej: 12 zapytań o sumę + 12 odczytów bieżącego użytkownika (~24 round tripy)
+        int year = 2023;
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserGroupedByMonth(eq(testUser), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+
+
+        expenseService.getMonthlyExpenses(year);
+
+
+        verify(userService, times(1)).getCurrentUser();
+        verify(expenseRepository, times(1)).sumAmountByUserGroupedByMonth(eq(testUser), any(LocalDate.class), any(LocalDate.class));
+        verify(expenseRepository, never()).sumAmountByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
     @Test
     void getMonthlyExpenses_ShouldReturnEmptyMapWhenNoUser() {
         
@@ -621,4 +782,181 @@ class ExpenseServiceTest {
         
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void findExpensesByDateRange_ShouldNotReadArchiveWhenRangeDoesNotReachIt() {
+        LocalDate startDate = today.minusDays(7);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(today.minusYears(2));
+        when(expenseRepository.findDtosByUserIdAndDateBetween(testUser.getId(), startDate, today))
+                .thenReturn(Collections.singletonList(toProjection(testExpense)));
+
+
+        List<ExpenseDto> result = expenseService.findExpensesByDateRange(startDate, today);
+
+
+        assertEquals(1, result.size());
+        verifyNoInteractions(archivedExpenseRepository);
+    }
+
+    @Test
+    void findExpensesByDateRange_ShouldMergeArchivedExpensesNewestFirst() {
+        LocalDate startDate = today.minusYears(5);
+        ExpenseDto archived = toProjection(testExpense);
+        archived.setId(7);
+        archived.setDate(today.minusYears(3));
+        ExpenseDto backdated = toProjection(testExpense);
+        backdated.setId(9);
+        backdated.setDate(today.minusYears(4));
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(today.minusYears(2));
+        when(expenseRepository.findDtosByUserIdAndDateBetween(testUser.getId(), startDate, today))
+                .thenReturn(Arrays.asList(toProjection(testExpense), backdated));
+        when(archivedExpenseRepository.findDtosByUserIdAndDateBetween(testUser.getId(), startDate, today))
+                .thenReturn(Collections.singletonList(archived));
+
+
+        List<ExpenseDto> result = expenseService.findExpensesByDateRange(startDate, today);
+
+
+        assertEquals(Arrays.asList(1, 7, 9), result.stream().map(ExpenseDto::getId).toList());
+    }
+
+    @Test
+    void findExpensePageByCurrentUser_ShouldSkipArchiveWhenPageEndsAfterArchiveBoundary() {
+        Expense expense2 = new Expense();
+        expense2.setId(2);
+        expense2.setAmount(BigDecimal.ONE);
+        expense2.setDescription("Expense 2");
+        expense2.setDate(today.minusDays(1));
+        expense2.setCategory(testCategory);
+        Expense expense3 = new Expense();
+        expense3.setId(3);
+        expense3.setAmount(BigDecimal.ONE);
+        expense3.setDescription("Expense 3");
+        expense3.setDate(today.minusDays(2));
+        expense3.setCategory(testCategory);
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.findDtoPageByUserId(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toProjection(testExpense), toProjection(expense2), toProjection(expense3)));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(today.minusYears(2));
+
+
+        ExpensePageDto page = expenseService.findExpensePageByCurrentUser(null, null);
+
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.getHasMore());
+        verifyNoInteractions(archivedExpenseRepository);
+    }
+
+    @Test
+    void findExpensePageByCurrentUser_ShouldContinueIntoArchiveWhenPageIsNotFull() {
+        ExpenseDto archived1 = toProjection(testExpense);
+        archived1.setId(50);
+        archived1.setDate(today.minusYears(3));
+        ExpenseDto archived2 = toProjection(testExpense);
+        archived2.setId(49);
+        archived2.setDate(today.minusYears(3));
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.findDtoPageByUserId(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(toProjection(testExpense)));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(today.minusYears(2));
+        when(archivedExpenseRepository.findDtoPageByUserId(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Arrays.asList(archived1, archived2));
+
+
+        ExpensePageDto page = expenseService.findExpensePageByCurrentUser(null, null);
+
+
+        assertEquals(Arrays.asList(1, 50), page.getItems().stream().map(ExpenseDto::getId).toList());
+        assertTrue(page.getHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void findById_ShouldFallBackToArchive() {
+        ExpenseDto archived = toProjection(testExpense);
+        when(expenseRepository.findById(testExpense.getId())).thenReturn(Optional.empty());
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(today.minusYears(2));
+        when(archivedExpenseRepository.findDtoById(testExpense.getId())).thenReturn(Optional.of(archived));
+
+
+        Optional<ExpenseDto> result = expenseService.findById(testExpense.getId());
+
+
+        assertTrue(result.isPresent());
+        assertSame(archived, result.get());
+    }
+
+    @Test
+    void getTotalExpensesForPeriod_ShouldAddArchivedPartOfRange() {
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 12, 31);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserAndDateBetween(testUser, startDate, endDate)).thenReturn(new BigDecimal("100.00"));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(ARCHIVED_BEFORE);
+        when(expenseArchiveService.sumAmount(testUser.getId(), ARCHIVED_BEFORE, startDate, endDate))
+                .thenReturn(new BigDecimal("250.00"));
+
+
+        BigDecimal result = expenseService.getTotalExpensesForPeriod(startDate, endDate);
+
+
+        assertEquals(new BigDecimal("350.00"), result);
+        verify(expenseArchiveService, times(1)).getArchivedBefore();
+    }
+
+    @Test
+    void getExpensesByCategory_ShouldMergeArchivedSumsPerCategory() {
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 12, 31);
+        Category other = new Category();
+        other.setId(2);
+        other.setName("Other");
+
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.findExpensesSumByCategory(testUser, startDate, endDate))
+                .thenReturn(Arrays.asList(new Object[]{other, new BigDecimal("80.00")},
+                        new Object[]{testCategory, new BigDecimal("50.00")}));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(ARCHIVED_BEFORE);
+        when(expenseArchiveService.sumAmountByCategory(testUser.getId(), ARCHIVED_BEFORE, startDate, endDate))
+                .thenReturn(Arrays.asList(new Object[]{testCategory, new BigDecimal("40.00")},
+                        new Object[]{testCategory, new BigDecimal("10.00")}));
+
+
+        Map<CategoryDto, BigDecimal> result = expenseService.getExpensesByCategory(startDate, endDate);
+
+
+        List<Map.Entry<CategoryDto, BigDecimal>> entries = new ArrayList<>(result.entrySet());
+        assertEquals(2, entries.size());
+        assertEquals(testCategory.getId(), entries.get(0).getKey().getId());
+        assertEquals(new BigDecimal("100.00"), entries.get(0).getValue());
+        assertEquals(new BigDecimal("80.00"), entries.get(1).getValue());
+    }
+
+    @Test
+    void getMonthlyExpenses_ShouldAddArchivedMonths() {
+        int year = 2022;
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserGroupedByMonth(testUser, startDate, endDate))
+                .thenReturn(Collections.singletonList(new Object[]{year, 3, new BigDecimal("5.00")}));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(ARCHIVED_BEFORE);
+        when(expenseArchiveService.sumAmountGroupedByMonth(testUser.getId(), ARCHIVED_BEFORE, startDate, endDate))
+                .thenReturn(Arrays.asList(new Object[]{year, 1, new BigDecimal("100.00")},
+                        new Object[]{year, 3, new BigDecimal("20.00")}));
+
+
+        Map<String, BigDecimal> result = expenseService.getMonthlyExpenses(year);
+
+
+        assertEquals(new BigDecimal("100.00"), result.get("January"));
+        assertEquals(new BigDecimal("25.00"), result.get("March"));
+        assertEquals(BigDecimal.ZERO, result.get("February"));
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.trackexpenses.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryFanOutTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private QueryFanOut queryFanOut;
+
+    @BeforeEach
+    void setUp() {
+        queryFanOut = new QueryFanOut(transactionManager, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryFanOut.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void fork_ShouldRunQueriesConcurrentlyOnVirtualThreadsInReadOnlyTransactions() {
+        
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Supplier<Boolean> query = () -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(5, TimeUnit.SECONDS) && Thread.currentThread().isVirtual();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        
+        Supplier<Boolean> first;
+        Supplier<Boolean> second;
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            first = scope.fork(query);
+            second = scope.fork(query);
+            scope.join();
+        }
+
+        
+        assertTrue(first.get());
+        assertTrue(second.get());
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void fork_ShouldPropagateSecurityContextToTasks() {
+        
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Authentication authentication = new UsernamePasswordAuthenticationToken("testuser", null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        
+        Supplier<Authentication> seen;
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            seen = scope.fork(() -> SecurityContextHolder.getContext().getAuthentication());
+            scope.join();
+        }
+
+        
+        assertSame(authentication, seen.get());
+    }
+
+    @Test
+    void join_ShouldRethrowFirstFailureWithoutWaitingForOtherTasks() {
+        
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        CountDownLatch release = new CountDownLatch(1);
+
+        
+        RuntimeException exception;
+        try (QueryFanOut.Scope scope = queryFanOut.open()) {
+            scope.fork(() -> {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            });
+            scope.fork(() -> {
+                throw new IllegalStateException("query failed");
+            });
+            exception = assertThrows(IllegalStateException.class, scope::join);
+        } finally {
+            release.countDown();
+        }
+
+        
+        assertEquals("query failed", exception.getMessage());
+    }
+}
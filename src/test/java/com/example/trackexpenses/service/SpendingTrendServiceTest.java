@@ -0,0 +1,167 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.SpendingTrendsDto;
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.ExpenseDailyRollupRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingTrendServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExpenseDailyRollupRepository rollupRepository;
+
+    @Mock
+    private ExpenseArchiveService expenseArchiveService;
+
+    @InjectMocks
+    private SpendingTrendService spendingTrendService;
+
+    private User testUser;
+    private final LocalDate today = LocalDate.of(2024, 3, 15);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(spendingTrendService, "maxMonths", 60);
+        ReflectionTestUtils.setField(spendingTrendService, "rollingWindow", 3);
+
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    void getSpendingTrends_ShouldFillEmptyMonthsAndComputeAverages() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserGroupedByMonth(testUser, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(Arrays.asList(
+                        new Object[]{2023, 12, new BigDecimal("300.00")},
+                        new Object[]{2024, 2, new BigDecimal("600.00")}));
+
+        
+        SpendingTrendsDto result = spendingTrendService.getSpendingTrends(4, today);
+
+        
+        assertEquals(4, result.getMonthlySpending().size());
+        assertEquals(Arrays.asList("2023-12", "2024-01", "2024-02", "2024-03"),
+                result.getMonthlySpending().keySet().stream().toList());
+        assertEquals(new BigDecimal("300.00"), result.getMonthlySpending().get("2023-12"));
+        assertEquals(BigDecimal.ZERO, result.getMonthlySpending().get("2024-01"));
+        assertEquals(new BigDecimal("600.00"), result.getMonthlySpending().get("2024-02"));
+
+        assertEquals(new BigDecimal("300.00"), result.getRollingAverage().get("2023-12"));
+        assertEquals(new BigDecimal("150.00"), result.getRollingAverage().get("2024-01"));
+        assertEquals(new BigDecimal("300.00"), result.getRollingAverage().get("2024-02"));
+        assertEquals(new BigDecimal("200.00"), result.getRollingAverage().get("2024-03"));
+
+        assertEquals(new BigDecimal("225.00"), result.getAverageMonthlySpending());
+    }
+
+    @Test
+    void getSpendingTrends_ShouldIssueSingleQueryForLongHorizon() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserGroupedByMonth(any(User.class), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+
+        
+        SpendingTrendsDto result = spendingTrendService.getSpendingTrends(60, today);
+
+        
+        assertEquals(60, result.getMonthlySpending().size());
+        verify(expenseRepository, times(1)).sumAmountByUserGroupedByMonth(any(User.class), any(LocalDate.class), any(LocalDate.class));
+        verify(expenseRepository, never()).sumAmountByUserAndDateBetween(any(User.class), any(LocalDate.class), any(LocalDate.class));
+    }
+
+    @Test
+    void getSpendingTrends_ShouldKeepArchivedMonthsInTrend() {
+        
+        LocalDate startDate = LocalDate.of(2023, 12, 1);
+        LocalDate endDate = LocalDate.of(2024, 3, 31);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumAmountByUserGroupedByMonth(testUser, startDate, endDate))
+                .thenReturn(Arrays.asList(
+                        new Object[]{2023, 12, new BigDecimal("300.00")},
+                        new Object[]{2024, 2, new BigDecimal("600.00")}));
+        SpendingTrendsDto beforeArchiving = spendingTrendService.getSpendingTrends(4, today);
+
+        // Grudzień przeniesiony do archiwum; do expenses dopisano później jeden wydatek z grudnia
+        when(expenseRepository.sumAmountByUserGroupedByMonth(testUser, startDate, endDate))
+                .thenReturn(Arrays.asList(
+                        new Object[]{2023, 12, new BigDecimal("20.00")},
+                        new Object[]{2024, 2, new BigDecimal("600.00")}));
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(LocalDate.of(2024, 1, 1));
+        when(expenseArchiveService.sumAmountGroupedByMonth(1, LocalDate.of(2024, 1, 1), startDate, endDate))
+                .thenReturn(Collections.singletonList(new Object[]{2023, 12, new BigDecimal("280.00")}));
+
+        
+        SpendingTrendsDto result = spendingTrendService.getSpendingTrends(4, today);
+
+        
+        assertEquals(new BigDecimal("300.00"), result.getMonthlySpending().get("2023-12"));
+        assertEquals(beforeArchiving.getMonthlySpending(), result.getMonthlySpending());
+        assertEquals(beforeArchiving.getRollingAverage(), result.getRollingAverage());
+        assertEquals(beforeArchiving.getAverageMonthlySpending(), result.getAverageMonthlySpending());
+    }
+
+    @Test
+    void getSpendingTrends_ShouldRejectHorizonAboveMaximum() {
+        
+        assertThrows(IllegalArgumentException.class, () -> spendingTrendService.getSpendingTrends(61, today));
+        assertThrows(IllegalArgumentException.class, () -> spendingTrendService.getSpendingTrends(0, today));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void getSpendingTrends_ShouldReturnZerosWhenNoUser() {
+        
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        
+        SpendingTrendsDto result = spendingTrendService.getSpendingTrends(3, today);
+
+        
+        assertEquals(3, result.getMonthlySpending().size());
+        assertEquals(new BigDecimal("0.00"), result.getAverageMonthlySpending());
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void getSpendingTrends_ShouldReadRollupWhenEnabled() {
+        
+        ReflectionTestUtils.setField(spendingTrendService, "useRollup", true);
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(rollupRepository.sumAmountByUserIdGroupedByMonth(testUser.getId(), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(Collections.singletonList(new Object[]{2024, 3, new BigDecimal("90.00")}));
+
+        
+        SpendingTrendsDto result = spendingTrendService.getSpendingTrends(2, today);
+
+        
+        assertEquals(new BigDecimal("90.00"), result.getMonthlySpending().get("2024-03"));
+        verify(expenseRepository, never()).sumAmountByUserGroupedByMonth(any(), any(), any());
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.entity.User;
+import com.example.trackexpenses.repository.BudgetRepository;
+import com.example.trackexpenses.repository.CategoryRepository;
+import com.example.trackexpenses.repository.ExpenseRepository;
+import com.example.trackexpenses.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceTest {
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ExpenseArchiveService expenseArchiveService;
+
+    @Spy
+    private QueryFanOut queryFanOut = new QueryFanOut(mock(PlatformTransactionManager.class), false);
+
+    @InjectMocks
+    private StatsService statsService;
+
+    private User testUser;
+    private final LocalDate today = LocalDate.of(2024, 3, 15);
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1);
+        testUser.setUsername("testuser");
+    }
+
+    private ExpenseRepository.ExpenseTotals totals(long count, String total, String period) {
+        ExpenseRepository.ExpenseTotals totals = mock(ExpenseRepository.ExpenseTotals.class);
+        when(totals.getExpenseCount()).thenReturn(count);
+        when(totals.getTotalAmount()).thenReturn(total != null ? new BigDecimal(total) : null);
+        when(totals.getPeriodAmount()).thenReturn(period != null ? new BigDecimal(period) : null);
+        return totals;
+    }
+
+    @Test
+    void getExpenseStats_ShouldReadAllCountersFromOneQuery() {
+        
+        ExpenseRepository.ExpenseTotals totals = totals(2, "200.00", "100.00");
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumTotalsByUserId(1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(totals);
+
+        
+        Map<String, Object> stats = statsService.getExpenseStats(today);
+
+        
+        assertEquals(2L, stats.get("totalExpenses"));
+        assertEquals(new BigDecimal("200.00"), stats.get("totalAmount"));
+        assertEquals(new BigDecimal("100.00"), stats.get("currentMonthAmount"));
+        verify(expenseRepository, only()).sumTotalsByUserId(any(), any(), any());
+    }
+
+    @Test
+    void getExpenseStats_ShouldKeepCountersAfterMonthIsArchived() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        ExpenseRepository.ExpenseTotals hotOnly = totals(5, "500.00", "100.00");
+        when(expenseRepository.sumTotalsByUserId(1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(hotOnly);
+        Map<String, Object> beforeArchiving = statsService.getExpenseStats(today);
+
+        // Miesiąc z 2 wydatkami za 120.00 przeniesiony do archiwum
+        ExpenseRepository.ExpenseTotals afterMove = totals(3, "380.00", "100.00");
+        when(expenseRepository.sumTotalsByUserId(1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(afterMove);
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(LocalDate.of(2024, 1, 1));
+        when(expenseArchiveService.countExpenses(1, LocalDate.of(2024, 1, 1), null, null)).thenReturn(2L);
+        when(expenseArchiveService.sumAmount(1, LocalDate.of(2024, 1, 1), null, null)).thenReturn(new BigDecimal("120.00"));
+
+        
+        Map<String, Object> stats = statsService.getExpenseStats(today);
+
+        
+        assertEquals(5L, beforeArchiving.get("totalExpenses"));
+        assertEquals(beforeArchiving, stats);
+    }
+
+    @Test
+    void getOverview_ShouldIncludeArchivedExpensesInLifetimeCounters() {
+        
+        ExpenseRepository.ExpenseTotals totals = totals(3, "380.00", "100.00");
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumTotalsByUserId(1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(totals);
+        when(budgetRepository.countByUser(testUser)).thenReturn(0L);
+        when(categoryRepository.count()).thenReturn(1L);
+        when(expenseArchiveService.getArchivedBefore()).thenReturn(LocalDate.of(2024, 1, 1));
+        when(expenseArchiveService.countExpenses(1, LocalDate.of(2024, 1, 1), null, null)).thenReturn(2L);
+        when(expenseArchiveService.sumAmount(1, LocalDate.of(2024, 1, 1), null, null)).thenReturn(new BigDecimal("120.00"));
+
+        
+        Map<String, Object> overview = statsService.getOverview(today);
+
+        
+        assertEquals(5L, overview.get("totalExpenses"));
+        assertEquals(new BigDecimal("500.00"), overview.get("totalSpent"));
+        assertEquals(new BigDecimal("100.00"), overview.get("currentMonthSpent"));
+        verify(expenseArchiveService, times(1)).getArchivedBefore();
+    }
+
+    @Test
+    void getExpenseStats_ShouldReturnZerosWhenNoUser() {
+        
+        when(userService.getCurrentUser()).thenReturn(null);
+
+        
+        Map<String, Object> stats = statsService.getExpenseStats(today);
+
+        
+        assertEquals(0L, stats.get("totalExpenses"));
+        assertEquals(BigDecimal.ZERO, stats.get("totalAmount"));
+        verifyNoInteractions(expenseRepository);
+    }
+
+    @Test
+    void getBudgetStats_ShouldUseCountAndSumQueries() {
+        
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(budgetRepository.countByUser(testUser)).thenReturn(3L);
+        when(budgetRepository.sumAmountByUserIdAndYearAndMonth(1, 2024, 3)).thenReturn(null);
+
+        
+        Map<String, Object> stats = statsService.getBudgetStats(today);
+
+        
+        assertEquals(3L, stats.get("totalBudgets"));
+        assertEquals(BigDecimal.ZERO, stats.get("currentMonthBudget"));
+    }
+
+    @Test
+    void getUserStats_ShouldReturnCountersFromAggregateQuery() {
+        
+        UserRepository.UserCounts counts = mock(UserRepository.UserCounts.class);
+        when(counts.getTotal()).thenReturn(1_000_000L);
+        when(counts.getActive()).thenReturn(999_000L);
+        when(userRepository.countUsers()).thenReturn(counts);
+
+        
+        Map<String, Object> stats = statsService.getUserStats();
+
+        
+        assertEquals(1_000_000L, stats.get("totalUsers"));
+        assertEquals(999_000L, stats.get("activeUsers"));
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void getCategoryStats_ShouldDeriveCustomCategories() {
+        
+        CategoryRepository.CategoryCounts counts = mock(CategoryRepository.CategoryCounts.class);
+        when(counts.getTotal()).thenReturn(12L);
+        when(counts.getDefaults()).thenReturn(10L);
+        when(categoryRepository.countCategories()).thenReturn(counts);
+
+        
+        Map<String, Object> stats = statsService.getCategoryStats();
+
+        
+        assertEquals(12L, stats.get("totalCategories"));
+        assertEquals(10L, stats.get("defaultCategories"));
+        assertEquals(2L, stats.get("customCategories"));
+    }
+
+    @Test
+    void getOverview_ShouldComputeBudgetUsage() {
+        
+        ExpenseRepository.ExpenseTotals totals = totals(1, "500.00", "200.00");
+        when(userService.getCurrentUser()).thenReturn(testUser);
+        when(expenseRepository.sumTotalsByUserId(1, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)))
+                .thenReturn(totals);
+        when(budgetRepository.countByUser(testUser)).thenReturn(0L);
+        when(budgetRepository.sumAmountByUserIdAndYearAndMonth(1, 2024, 3)).thenReturn(new BigDecimal("1000.00"));
+        when(categoryRepository.count()).thenReturn(1L);
+
+        
+        Map<String, Object> overview = statsService.getOverview(today);
+
+        
+        assertEquals(1L, overview.get("totalExpenses"));
+        assertEquals(0L, overview.get("totalBudgets"));
+        assertEquals(1L, overview.get("totalCategories"));
+        assertEquals(new BigDecimal("500.00"), overview.get("totalSpent"));
+        assertEquals(new BigDecimal("1000.00"), overview.get("currentMonthBudget"));
+        assertEquals(new BigDecimal("200.00"), overview.get("currentMonthSpent"));
+        assertEquals(20.0, overview.get("budgetUsagePercent"));
+    }
+}
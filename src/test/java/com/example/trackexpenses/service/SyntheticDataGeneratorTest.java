@@ -0,0 +1,147 @@
+package com.example.trackexpenses.service;
+
+import com.example.trackexpenses.dto.SyntheticDataResultDto;
+import com.example.trackexpenses.entity.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:generator;MODE=PostgreSQL;NON_KEYWORDS=DAY,MONTH,YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final CategoryService categoryService = mock(CategoryService.class);
+
+    private SyntheticDataGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        Map<Integer, Category> categories = new LinkedHashMap<>();
+        for (String name : List.of("Food", "Transportation", "Bills", "Travel", "Custom")) {
+            Category category = new Category();
+            category.setName(name);
+            entityManager.persist(category);
+            categories.put(category.getId(), category);
+        }
+        entityManager.flush();
+        when(categoryService.findCategoryMap()).thenReturn(categories);
+        when(passwordEncoder.encode(anyString())).thenReturn("encoded");
+
+        generator = new SyntheticDataGenerator(jdbcTemplate, new TransactionTemplate(transactionManager),
+                passwordEncoder, categoryService);
+        ReflectionTestUtils.setField(generator, "batchSize", 100);
+        ReflectionTestUtils.setField(generator, "usersPerTransaction", 4);
+        ReflectionTestUtils.setField(generator, "password", "loadtest123");
+    }
+
+    @Test
+    void generate_ShouldCreateUsersExpensesBudgetsAndRollup() {
+        SyntheticDataResultDto result = generator.generate(10, 50, 2, 42L);
+
+        assertEquals(10, result.getUsers());
+        assertEquals(count("SELECT COUNT(*) FROM users WHERE username LIKE 'loadtest%'"), 10);
+        assertEquals(count("SELECT COUNT(*) FROM expenses"), result.getExpenses());
+        assertEquals(count("SELECT COUNT(*) FROM budgets"), result.getBudgets());
+        assertTrue(result.getExpenses() > 0);
+        assertTrue(result.getBudgets() > 0);
+
+        assertEquals(count("SELECT COUNT(DISTINCT id) FROM expenses"), result.getExpenses());
+        assertEquals(count("SELECT COALESCE(SUM(expense_count), 0) FROM expense_daily_rollup"), result.getExpenses());
+        BigDecimal expenseTotal = jdbcTemplate.queryForObject("SELECT SUM(amount) FROM expenses", BigDecimal.class);
+        BigDecimal rollupTotal = jdbcTemplate.queryForObject("SELECT SUM(total_amount) FROM expense_daily_rollup", BigDecimal.class);
+        assertEquals(0, expenseTotal.compareTo(rollupTotal));
+
+        // Hasło kodowane raz dla całego uruchomienia
+        verify(passwordEncoder, times(1)).encode("loadtest123");
+    }
+
+    @Test
+    void generate_ShouldSpreadExpensesAcrossCategoriesAndYears() {
+        generator.generate(5, 200, 3, 7L);
+
+        assertTrue(count("SELECT COUNT(DISTINCT category_id) FROM expenses") >= 4);
+        assertTrue(count("SELECT COUNT(DISTINCT EXTRACT(YEAR FROM date)) FROM expenses") >= 3);
+        assertEquals(0, count("SELECT COUNT(*) FROM expenses WHERE date > CURRENT_DATE"));
+        assertTrue(count("SELECT COUNT(*) FROM expenses e JOIN categories c ON c.id = e.category_id WHERE c.name = 'Food'")
+                > count("SELECT COUNT(*) FROM expenses e JOIN categories c ON c.id = e.category_id WHERE c.name = 'Travel'"));
+    }
+
+    @Test
+    void generate_ShouldContinueNumberingUsersOnNextRun() {
+        generator.generate(3, 5, 1, 1L);
+        generator.generate(2, 5, 1, 1L);
+
+        List<String> usernames = jdbcTemplate.queryForList(
+                "SELECT username FROM users WHERE username LIKE 'loadtest%' ORDER BY id", String.class);
+        assertEquals(List.of("loadtest1", "loadtest2", "loadtest3", "loadtest4", "loadtest5"), usernames);
+    }
+
+    @Test
+    void generate_ShouldContinueAfterHighestIndexWhenGeneratedUserWasDeleted() {
+        generator.generate(3, 0, 1, 1L);
+        jdbcTemplate.update("DELETE FROM budgets WHERE user_id = (SELECT id FROM users WHERE username = 'loadtest1')");
+        jdbcTemplate.update("DELETE FROM users WHERE username = 'loadtest1'");
+
+        generator.generate(1, 0, 1, 1L);
+
+        List<String> usernames = jdbcTemplate.queryForList(
+                "SELECT username FROM users WHERE username LIKE 'loadtest%' ORDER BY id", String.class);
+        assertEquals(List.of("loadtest2", "loadtest3", "loadtest4"), usernames);
+    }
+
+    @Test
+    void generate_ShouldIgnoreUsernamesWithoutNumericSuffix() {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, is_active, created_at) " +
+                "VALUES ('loadtester', 'tester@example.com', 'x', 'USER', TRUE, CURRENT_TIMESTAMP)");
+
+        generator.generate(1, 0, 1, 1L);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE username = 'loadtest1'"));
+    }
+
+    @Test
+    void generate_ShouldRejectInvalidParameters() {
+        assertThrows(RuntimeException.class, () -> generator.generate(0, 10, 1, 1L));
+        assertThrows(RuntimeException.class, () -> generator.generate(1, 10, 0, 1L));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
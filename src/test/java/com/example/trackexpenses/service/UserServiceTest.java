@@ -1,10 +1,12 @@
 package com.example.trackexpenses.service;
 
+import com.example.trackexpenses.dto.PurgeJobDto;
 import com.example.trackexpenses.dto.UserDto;
 import com.example.trackexpenses.dto.UserRegistrationDto;
 import com.example.trackexpenses.entity.Role;
 import com.example.trackexpenses.entity.User;
 import com.example.trackexpenses.repository.UserRepository;
+import com.example.trackexpenses.service.CustomUserDetailsService.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +44,15 @@ class UserServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private CurrentUserHolder currentUserHolder;
+
+    @Mock
+    private RevokedUserRegistry revokedUserRegistry;
+
+    @Mock
+    private DataPurgeService dataPurgeService;
+
     @InjectMocks
     private UserService userService;
 
@@ -227,6 +238,22 @@ class UserServiceTest {
         assertEquals(testUser.getId(), savedUser.getId());
         assertEquals(testUser.getUsername(), savedUser.getUsername());
         assertFalse(savedUser.getIsActive());
+        verify(revokedUserRegistry).revoke(testUser.getId());
+    }
+
+    @Test
+    void updateUserStatus_ShouldRestoreRevokedUserWhenActivated() {
+        
+        testUser.setIsActive(false);
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        
+        userService.updateUserStatus(testUser.getId(), true);
+
+        
+        verify(revokedUserRegistry).restore(testUser.getId());
+        verify(revokedUserRegistry, never()).revoke(anyInt());
     }
 
     @Test
@@ -240,16 +267,20 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUser_ShouldDeleteUserWhenExists() {
+    void deleteUser_ShouldStartPurgeJobWhenUserExists() {
         
+        PurgeJobDto job = new PurgeJobDto();
+        job.setId("job-1");
         when(userRepository.existsById(testUser.getId())).thenReturn(true);
-        doNothing().when(userRepository).deleteById(testUser.getId());
+        when(dataPurgeService.startUserPurge(testUser.getId())).thenReturn(job);
 
         
-        userService.deleteUser(testUser.getId());
+        PurgeJobDto result = userService.deleteUser(testUser.getId());
 
         
-        verify(userRepository).deleteById(testUser.getId());
+        assertEquals("job-1", result.getId());
+        verify(dataPurgeService).startUserPurge(testUser.getId());
+        verify(userRepository, never()).deleteById(anyInt());
     }
 
     @Test
@@ -259,7 +290,7 @@ class UserServiceTest {
 
         
         assertThrows(RuntimeException.class, () -> userService.deleteUser(999));
-        verify(userRepository, never()).deleteById(anyInt());
+        verify(dataPurgeService, never()).startUserPurge(anyInt());
     }
 
     @Test
@@ -281,6 +312,26 @@ class UserServiceTest {
         assertEquals(testUser.getEmail(), result.getEmail());
     }
 
+    @Test
+    void getCurrentUser_ShouldUseHolderForUserPrincipal() {
+        
+        testUser.setRole(Role.USER);
+        testUser.setIsActive(true);
+        UserPrincipal principal = UserPrincipal.create(testUser);
+        SecurityContextHolder.setContext(securityContext);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(principal);
+        when(currentUserHolder.resolve(principal)).thenReturn(testUser);
+
+        
+        User result = userService.getCurrentUser();
+
+        
+        assertSame(testUser, result);
+        verify(userRepository, never()).findByUsername(any());
+    }
+
     @Test
     void getCurrentUser_ShouldReturnNullWhenNotAuthenticated() {
         
@@ -1,5 +1,7 @@
 package com.example.trackexpenses.util;
 
+import com.example.trackexpenses.entity.Role;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -23,6 +25,8 @@ class JwtUtilTest {
         jwtUtil = new JwtUtil();
         ReflectionTestUtils.setField(jwtUtil, "jwtSecret", testSecret);
         ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", testExpirationMs);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", 16);
+        jwtUtil.init();
     }
 
     @Test
@@ -37,6 +41,28 @@ class JwtUtilTest {
         assertTrue(jwtUtil.validateToken(token));
     }
 
+    @Test
+    void generateToken_ShouldEmbedUserClaims() {
+        
+        String token = jwtUtil.generateToken(7, testUsername, Role.ADMIN, true);
+
+        
+        Claims claims = jwtUtil.parseClaims(token);
+
+        
+        assertNotNull(claims);
+        assertEquals(testUsername, claims.getSubject());
+        assertEquals(7, claims.get(JwtUtil.CLAIM_USER_ID, Integer.class));
+        assertEquals("ADMIN", claims.get(JwtUtil.CLAIM_ROLE, String.class));
+        assertTrue(claims.get(JwtUtil.CLAIM_ACTIVE, Boolean.class));
+    }
+
+    @Test
+    void parseClaims_ShouldReturnNullForMalformedToken() {
+        
+        assertNull(jwtUtil.parseClaims("malformed.token.value"));
+    }
+
     @Test
     void getUsernameFromToken_ShouldReturnCorrectUsername() {
         
@@ -101,4 +127,48 @@ class JwtUtilTest {
         
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseClaims_ShouldServeRepeatedTokenFromCache() {
+        
+        String token = jwtUtil.generateToken(testUsername);
+
+        
+        var first = jwtUtil.parseClaims(token);
+        var second = jwtUtil.parseClaims(token);
+
+        
+        assertNotNull(first);
+        assertSame(first, second);
+    }
+
+    @Test
+    void parseClaims_ShouldRejectCachedTokenAfterExpiry() throws Exception {
+        
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 2000);
+        String token = jwtUtil.generateToken(testUsername);
+        assertTrue(jwtUtil.validateToken(token));
+
+        
+        Thread.sleep(2100);
+
+        
+        assertFalse(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void parseClaims_ShouldWorkWithCacheDisabled() {
+        
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheSize", 0);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken(testUsername);
+
+        
+        var first = jwtUtil.parseClaims(token);
+        var second = jwtUtil.parseClaims(token);
+
+        
+        assertNotNull(first);
+        assertNotSame(first, second);
+    }
+}